@@ -1,67 +1,441 @@
 package com.spelling.model;
 
+import com.badlogic.gdx.Gdx;
+import com.spelling.model.storage.Journal;
+
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 
 /**
  * Utility class that handles Teachers, Students, and Words storage and population.
+ * Changes to teachers, students and histories are written to a {@link Journal} once {@link #open(File)} has run.
+ * Only the roster is loaded up front; each student's histories are read from their own shard when first needed.
+ * <p>
+ * Teachers and students are looked up by their stable IDs through hash indexes. The teacher list and each teacher's
+ * student list are kept sorted by name as entries are added and removed, so reading them never sorts.
  */
 public class DataManager {
+    /**
+     * Number of journal records after which a new snapshot is taken.
+     */
+    private static final int CHECKPOINT_INTERVAL = 500;
+    /**
+     * Histories plus words that may stay loaded before the least recently used students are unloaded.
+     */
+    private static final int HISTORY_BUDGET = 50000;
+
+    private static final Comparator<Teacher> TEACHER_NAME_ORDER = new Comparator<Teacher>() {
+        @Override
+        public int compare(Teacher o1, Teacher o2) {
+            return o1.getName().compareToIgnoreCase(o2.getName());
+        }
+    };
+    private static final Comparator<Student> STUDENT_NAME_ORDER = new Comparator<Student>() {
+        @Override
+        public int compare(Student o1, Student o2) {
+            return o1.getName().compareToIgnoreCase(o2.getName());
+        }
+    };
+    private static final PrefixSearch<Teacher> TEACHER_PREFIXES = new PrefixSearch<Teacher>() {
+        @Override
+        String nameOf(Teacher teacher) {
+            return teacher.getName();
+        }
+    };
+    private static final PrefixSearch<Student> STUDENT_PREFIXES = new PrefixSearch<Student>() {
+        @Override
+        String nameOf(Student student) {
+            return student.getName();
+        }
+    };
+
     private static ArrayList<Teacher> teachers = new ArrayList<Teacher>();
-    private static ArrayList<Word> wordList = new ArrayList<Word>();
+    private static HashMap<Long, Teacher> teachersById = new HashMap<Long, Teacher>();
+    private static HashMap<Long, Student> studentsById = new HashMap<Long, Student>();
+    private static WordPack wordPack = WordPack.EMPTY;
+    private static ArrayList<Word> addedWords = new ArrayList<Word>();
+    private static HashMap<String, Word> addedWordsById = new HashMap<String, Word>();
+    private static WordIndex wordIndex; // Built on the first lookup by spelling.
+    private static Journal journal;
+    private static HistoryCache historyCache;
+    private static ExecutorService historyLoader; // Started by the first history read from disk.
+    private static boolean restored;
+    private static long nextId = 1;
+    private static int recordsSinceCheckpoint;
 
-    public static void populate() {
-        wordList.add(new Word("apple", "kua", 2));
-        wordList.add(new Word("money", "nyiaj", 3));
-        wordList.add(new Word("bird", "noog", 3));
-        wordList.add(new Word("pig", "npua", 2));
-        wordList.add(new Word("dog", "aub", 2));
-        wordList.add(new Word("boat", "nkoj", 3));
-        wordList.add(new Word("fish", "ntses", 3));
-        wordList.add(new Word("deer", "mos lwj", 7));
-        wordList.add(new Word("cat", "miv", 3));
-        wordList.add(new Word("horse", "nees", 3));
-        wordList.add(new Word("flower", "paj", 3));
-        wordList.add(new Word("frog", "qav", 3));
-        wordList.add(new Word("pumpkin", "taub dag", 7));
-        wordList.add(new Word("sheep", "yaj", 3));
-        wordList.add(new Word("dragon", "zaj", 3));
-
-        addTeacher(new Teacher("Teacher1"));
-        addStudent(0, new Student("Student1"));
-    }
-
-    public static ArrayList<Word> getWordList() {
-        return wordList;
+    /**
+     * Loads the latest snapshot and replays the journal written after it, then starts journaling new changes.
+     * Without a successful call the data only lives in memory.
+     *
+     * @param directory Where the snapshot and journal files are kept.
+     */
+    public static void open(File directory) throws IOException {
+        // The process, and with it this class, can outlive the game, so a new game starts from nothing.
+        reset();
+        Journal journal = new Journal(directory);
+        JournalCodec codec = new JournalCodec(teachers, teachersById, studentsById);
+        byte[] snapshot;
+        ArrayList<byte[]> tail;
+        try {
+            snapshot = journal.open();
+            if (snapshot != null) {
+                codec.readSnapshot(snapshot);
+            }
+            tail = journal.readTail();
+            for (byte[] record : tail) {
+                codec.replay(record);
+            }
+            journal.start();
+        } catch (IOException e) {
+            // Do not carry on with half of the saved data.
+            reset();
+            throw e;
+        }
+        // Records are replayed in the order they were written; sort once here instead of on every read.
+        Collections.sort(teachers, TEACHER_NAME_ORDER);
+        for (Teacher teacher : teachers) {
+            Collections.sort(teacher.getStudents(), STUDENT_NAME_ORDER);
+        }
+        DataManager.journal = journal;
+        historyCache = new HistoryCache(HISTORY_BUDGET);
+        restored = snapshot != null || !tail.isEmpty();
+        nextId = codec.getNextId();
+        recordsSinceCheckpoint = tail.size();
     }
 
-    public static Word getWord(String wordId) {
-        for (Word word : wordList) {
-            if (word.compareTo(wordId) == 0)
-                return word;
+    /**
+     * Queues a snapshot of everything so the journal starts over. Called periodically and when the app is paused.
+     */
+    public static void checkpoint() {
+        if (journal != null && !journalFailed()) {
+            journal.checkpoint(JournalCodec.snapshot(teachers, nextId));
+            recordsSinceCheckpoint = 0;
         }
-        return null;
     }
 
-    public static ArrayList<Teacher> getTeachers() {
-        Collections.sort(teachers, new Comparator<Teacher>() {
-            @Override
-            public int compare(Teacher o1, Teacher o2) {
-                return o1.getName().compareToIgnoreCase(o2.getName());
+    /**
+     * Unloads the histories of everyone but the most recently used student. Called when the app is paused.
+     */
+    public static void trimMemory() {
+        if (historyCache != null) {
+            historyCache.trimAll();
+        }
+    }
+
+    /**
+     * Writes anything still queued, stops journaling and forgets the data.
+     */
+    public static void close() throws IOException {
+        Journal closing = journal;
+        reset();
+        if (closing != null) {
+            closing.close();
+        }
+    }
+
+    /**
+     * Empties the roster and stops journaling without writing anything.
+     */
+    private static void reset() {
+        teachers.clear();
+        teachersById.clear();
+        studentsById.clear();
+        journal = null;
+        historyCache = null;
+        if (historyLoader != null) {
+            historyLoader.shutdown();
+            historyLoader = null;
+        }
+        restored = false;
+        nextId = 1;
+        recordsSinceCheckpoint = 0;
+    }
+
+    /**
+     * Checks whether the journal writer has given up. If it has, the error is logged and the data is only kept in
+     * memory from then on, the same as when open failed.
+     */
+    private static boolean journalFailed() {
+        IOException failure = journal.getFailure();
+        if (failure == null) {
+            return false;
+        }
+        Gdx.app.error("DataManager", "Saved data could not be written, changes will not be saved", failure);
+        Journal failed = journal;
+        journal = null;
+        historyCache = null;
+        try {
+            failed.close();
+        } catch (IOException e) {
+            // The same failure, already logged.
+        }
+        return true;
+    }
+
+    /**
+     * Queues a record for the journal without waiting for it to be written.
+     */
+    static void record(byte[] record) {
+        if (journal != null && !journalFailed()) {
+            journal.append(record);
+            if (++recordsSinceCheckpoint >= CHECKPOINT_INTERVAL) {
+                checkpoint();
             }
-        });
-        return teachers;
+        }
+    }
+
+    /**
+     * Queues a record for the student's history shard.
+     */
+    static void recordHistory(Student student, byte[] record) {
+        if (journal != null && !journalFailed()) {
+            journal.appendToShard(JournalCodec.historyShard(student), record);
+            student.addHistoryWeight(1);
+            historyCache.touched(student, 1);
+        }
     }
 
-    public static ArrayList<Student> getStudents(int teacherIndex) {
-        Collections.sort(teachers.get(teacherIndex).getStudents(), new Comparator<Student>() {
+    /**
+     * Reads a student's histories from their shard, waiting for the journal to write what is queued. Prefer
+     * {@link #loadHistory(Student, Runnable)} on the render thread.
+     */
+    static void loadHistories(Student student) {
+        if (journal == null) {
+            student.setUnsavedHistory();
+            return;
+        }
+        try {
+            JournalCodec.readHistoryShard(student, journal.readShard(JournalCodec.historyShard(student)));
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot load the history of " + student.getName(), e);
+        }
+        historyCache.loaded(student);
+    }
+
+    /**
+     * Makes sure a student's histories are in memory, then runs onLoaded on the render thread. Histories that are
+     * only on disk are read on a worker thread, so the render thread never waits for the journal or the shard; if they
+     * cannot be read the error is logged and onLoaded is not run.
+     */
+    public static void loadHistory(final Student student, final Runnable onLoaded) {
+        if (student.isHistoryLoaded() || journal == null) {
+            student.getGameHistory();
+            onLoaded.run();
+            return;
+        }
+        final Journal reading = journal;
+        final int recordsBefore = student.getHistoryWeight(); // Counts records queued while not loaded.
+        final String shard = JournalCodec.historyShard(student);
+        if (historyLoader == null) {
+            historyLoader = Executors.newSingleThreadExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "history-loader");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+        historyLoader.execute(new Runnable() {
             @Override
-            public int compare(Student o1, Student o2) {
-                return o1.getName().compareToIgnoreCase(o2.getName());
+            public void run() {
+                try {
+                    final ArrayList<byte[]> records = reading.readShard(shard);
+                    Gdx.app.postRunnable(new Runnable() {
+                        @Override
+                        public void run() {
+                            loaded(student, records, reading, recordsBefore, onLoaded);
+                        }
+                    });
+                } catch (IOException e) {
+                    Gdx.app.error("DataManager", "Cannot load the history of " + student.getName(), e);
+                }
             }
         });
-        return teachers.get(teacherIndex).getStudents();
+    }
+
+    /**
+     * Takes the records read by loadHistory on the render thread, unless the student was loaded or removed meanwhile
+     * or the journal they were read from is closed. If more was recorded for the student while reading, the read may
+     * have missed it, so the shard is read again.
+     */
+    private static void loaded(Student student, ArrayList<byte[]> records, Journal readFrom, int recordsBefore,
+                               Runnable onLoaded) {
+        if (journal != readFrom || studentsById.get(student.getId()) != student) {
+            return;
+        }
+        if (!student.isHistoryLoaded()) {
+            if (student.getHistoryWeight() != recordsBefore) {
+                loadHistory(student, onLoaded);
+                return;
+            }
+            try {
+                JournalCodec.readHistoryShard(student, records);
+            } catch (IOException e) {
+                Gdx.app.error("DataManager", "Cannot load the history of " + student.getName(), e);
+                return;
+            }
+            historyCache.loaded(student);
+        }
+        onLoaded.run();
+    }
+
+    /**
+     * Creates a teacher and student on the very first run, never over saved data.
+     */
+    public static void populate() {
+        if (!restored && teachers.isEmpty()) {
+            Teacher teacher = new Teacher("Teacher1");
+            addTeacher(teacher);
+            addStudent(teacher.getId(), new Student("Student1"));
+        }
+    }
+
+    /**
+     * Uses a word pack as the vocabulary. Words added with addWord come after the words of the pack, and have a
+     * spelling in each of its languages.
+     */
+    public static void openWordPack(WordPack pack) {
+        wordPack = pack;
+        wordIndex = null;
+    }
+
+    /**
+     * The languages of the word pack. Their language packs are only parsed once they are played.
+     */
+    public static Language[] getLanguages() {
+        return wordPack.getLanguages();
+    }
+
+    /**
+     * A language by the id of its language pack, or null if the word pack does not have it.
+     */
+    public static Language getLanguage(String id) {
+        for (Language language : wordPack.getLanguages()) {
+            if (language.getId().equals(id)) {
+                return language;
+            }
+        }
+        return null;
+    }
+
+    public static int getWordCount() {
+        return wordPack.size() + addedWords.size();
+    }
+
+    /**
+     * The word at an index from 0 to getWordCount() - 1. Words of the pack are decoded when first asked for.
+     */
+    public static Word getWord(int index) {
+        if (index < wordPack.size()) {
+            return wordPack.get(index);
+        }
+        return addedWords.get(index - wordPack.size());
+    }
+
+    public static void addWord(Word word) {
+        addedWords.add(word);
+        addedWordsById.put(word.getWordId(), word);
+        if (wordIndex != null) {
+            wordIndex.add(word);
+        }
+    }
+
+    /**
+     * Finds a word by its ID, in the pack or among the added words. Neither decodes any other word.
+     */
+    public static Word getWord(String wordId) {
+        int index = wordPack.indexOf(wordId);
+        if (index >= 0) {
+            return wordPack.get(index);
+        }
+        return addedWordsById.get(wordId);
+    }
+
+    /**
+     * Finds a word by how it is spelled in a language, ignoring case.
+     */
+    public static Word getWord(Language language, String spelling) {
+        return getWordIndex().getBySpelling(language, spelling);
+    }
+
+    /**
+     * Words whose spelling in a language starts with the prefix, ignoring case, in alphabetical order.
+     *
+     * @param limit The most words to return.
+     */
+    public static ArrayList<Word> searchWords(Language language, String prefix, int limit) {
+        ArrayList<Word> results = new ArrayList<Word>();
+        getWordIndex().search(language, prefix, limit, results);
+        return results;
+    }
+
+    /**
+     * The spelling index decodes every word, so it is only built once a lookup by spelling needs it.
+     */
+    private static WordIndex getWordIndex() {
+        if (wordIndex == null) {
+            wordIndex = new WordIndex(getLanguages());
+            for (int i = 0; i < getWordCount(); i++) {
+                wordIndex.add(getWord(i));
+            }
+        }
+        return wordIndex;
+    }
+
+    /**
+     * All teachers, sorted by name.
+     */
+    public static ArrayList<Teacher> getTeachers() {
+        return teachers;
+    }
+
+    /**
+     * The teacher with this ID, or null if there is none.
+     */
+    public static Teacher getTeacher(long teacherId) {
+        return teachersById.get(teacherId);
+    }
+
+    /**
+     * The student with this ID, or null if there is none.
+     */
+    public static Student getStudent(long studentId) {
+        return studentsById.get(studentId);
+    }
+
+    /**
+     * The students of a teacher, sorted by name.
+     */
+    public static ArrayList<Student> getStudents(long teacherId) {
+        return teachersById.get(teacherId).getStudents();
+    }
+
+    /**
+     * Finds the teachers whose name starts with the prefix, ignoring case. The teachers are kept sorted by name, so
+     * they are a run of getTeachers() found by binary search, however many teachers there are.
+     *
+     * @param range Set to the index of the first teacher found and one past the last.
+     */
+    public static void findTeachers(String prefix, int[] range) {
+        TEACHER_PREFIXES.find(teachers, prefix, range);
+    }
+
+    /**
+     * Finds the students of a teacher whose name starts with the prefix, ignoring case, as a run of
+     * getStudents(teacherId).
+     *
+     * @param range Set to the index of the first student found and one past the last.
+     */
+    public static void findStudents(long teacherId, String prefix, int[] range) {
+        STUDENT_PREFIXES.find(getStudents(teacherId), prefix, range);
     }
 
     public static ArrayList<History> getHistory(Student student) {
@@ -75,18 +449,100 @@ public class DataManager {
     }
 
     public static void addTeacher(Teacher teacher) {
-        teachers.add(teacher);
+        teacher.setId(nextId++);
+        insertSorted(teachers, teacher, TEACHER_NAME_ORDER);
+        teachersById.put(teacher.getId(), teacher);
+        record(JournalCodec.addTeacher(teacher));
     }
 
-    public static void removeTeacher(int teacherIndex) {
-        teachers.remove(teacherIndex);
+    public static void removeTeacher(long teacherId) {
+        Teacher teacher = teachersById.remove(teacherId);
+        teachers.remove(teacher);
+        record(JournalCodec.removeTeacher(teacher));
+        for (Student student : teacher.getStudents()) {
+            studentsById.remove(student.getId());
+            forgetHistory(student);
+        }
+    }
+
+    public static void addStudent(long teacherId, Student student) {
+        Teacher teacher = teachersById.get(teacherId);
+        student.setId(nextId++);
+        insertSorted(teacher.getStudents(), student, STUDENT_NAME_ORDER);
+        studentsById.put(student.getId(), student);
+        record(JournalCodec.addStudent(teacher, student));
+        if (historyCache != null) {
+            historyCache.loaded(student);
+        }
     }
 
-    public static void addStudent(int teacherIndex, Student student) {
-        teachers.get(teacherIndex).getStudents().add(student);
+    public static void removeStudent(long teacherId, long studentId) {
+        Teacher teacher = teachersById.get(teacherId);
+        Student student = studentsById.remove(studentId);
+        teacher.getStudents().remove(student);
+        record(JournalCodec.removeStudent(teacher, student));
+        forgetHistory(student);
     }
 
-    public static void removeStudent(int teacherIndex, int studentIndex) {
-        teachers.get(teacherIndex).getStudents().remove(studentIndex);
+    /**
+     * Adds an item at its place in an already sorted list.
+     */
+    private static <T> void insertSorted(ArrayList<T> list, T item, Comparator<T> order) {
+        int index = Collections.binarySearch(list, item, order);
+        list.add(index < 0 ? -index - 1 : index, item);
+    }
+
+    /**
+     * Finds the names starting with a prefix in a list sorted by name with compareToIgnoreCase.
+     */
+    private abstract static class PrefixSearch<T> {
+        abstract String nameOf(T item);
+
+        void find(ArrayList<T> list, String prefix, int[] range) {
+            range[0] = bound(list, prefix, false);
+            range[1] = bound(list, prefix, true);
+        }
+
+        /**
+         * The index of the first item whose name is not before the prefix or, for the upper bound, comes after all
+         * names starting with it.
+         */
+        private int bound(ArrayList<T> list, String prefix, boolean upper) {
+            int low = 0;
+            int high = list.size();
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                int order = compareStart(nameOf(list.get(middle)), prefix);
+                if (order < 0 || upper && order == 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Compares the start of a name with the prefix the way compareToIgnoreCase does, zero if the name starts with
+         * it.
+         */
+        private static int compareStart(String name, String prefix) {
+            int length = Math.min(name.length(), prefix.length());
+            for (int i = 0; i < length; i++) {
+                char c1 = Character.toLowerCase(Character.toUpperCase(name.charAt(i)));
+                char c2 = Character.toLowerCase(Character.toUpperCase(prefix.charAt(i)));
+                if (c1 != c2) {
+                    return c1 - c2;
+                }
+            }
+            return name.length() < prefix.length() ? -1 : 0;
+        }
+    }
+
+    private static void forgetHistory(Student student) {
+        if (journal != null) {
+            journal.deleteShard(JournalCodec.historyShard(student));
+            historyCache.remove(student);
+        }
     }
 }
@@ -15,10 +15,14 @@ public class History {
     private String timestamp;
 
     public History(String gamePlayed) {
+        this(gamePlayed, new Date());
+    }
+
+    History(String gamePlayed, Date date) {
         this.gamePlayed = gamePlayed;
         wordsSpelled = new ArrayList<String>();
         SimpleDateFormat dateFormat = new SimpleDateFormat("MM/dd HH:mm");
-        date = new Date();
+        this.date = date;
         timestamp = dateFormat.format(date);
     }
 
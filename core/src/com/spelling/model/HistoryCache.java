@@ -0,0 +1,72 @@
+package com.spelling.model;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * Keeps the histories of recently used students in memory and unloads the least recently used ones once a budget is
+ * exceeded or the heap is getting full. Unloaded histories are read back from their shard when needed again.
+ */
+class HistoryCache {
+    private final int budget;
+    private final LinkedHashMap<Long, Student> loaded = new LinkedHashMap<Long, Student>(16, 0.75f, true);
+    private int weight;
+
+    /**
+     * @param budget How many histories plus words may stay loaded.
+     */
+    HistoryCache(int budget) {
+        this.budget = budget;
+    }
+
+    void loaded(Student student) {
+        loaded.put(student.getId(), student);
+        weight += student.getHistoryWeight();
+        trim();
+    }
+
+    /**
+     * Marks the student as most recently used and accounts for what was added to their histories.
+     */
+    void touched(Student student, int addedWeight) {
+        if (loaded.get(student.getId()) != null) {
+            weight += addedWeight;
+            trim();
+        }
+    }
+
+    void remove(Student student) {
+        if (loaded.remove(student.getId()) != null) {
+            weight -= student.getHistoryWeight();
+        }
+    }
+
+    /**
+     * Unloads everything except the most recently used student.
+     */
+    void trimAll() {
+        trimTo(0);
+    }
+
+    private void trim() {
+        Runtime runtime = Runtime.getRuntime();
+        long used = runtime.totalMemory() - runtime.freeMemory();
+        if (used > runtime.maxMemory() / 4 * 3) {
+            trimTo(Math.min(budget, weight) / 2);
+        } else {
+            trimTo(budget);
+        }
+    }
+
+    private void trimTo(int targetWeight) {
+        Iterator<Student> iterator = loaded.values().iterator();
+        int remaining = loaded.size();
+        while (weight > targetWeight && remaining > 1) {
+            Student student = iterator.next();
+            iterator.remove();
+            remaining--;
+            weight -= student.getHistoryWeight();
+            student.unloadHistory();
+        }
+    }
+}
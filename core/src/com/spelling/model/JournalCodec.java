@@ -0,0 +1,252 @@
+package com.spelling.model;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+
+/**
+ * Converts DataManager changes to journal records and snapshots, and applies them again when loading.
+ * Teachers and students are referred to by their stable IDs so records stay valid however the lists are sorted.
+ * <p>
+ * The journal and snapshot only hold the roster. Each student's histories are kept in a shard of their own, named by
+ * {@link #historyShard(Student)}, which is only read when those histories are needed.
+ */
+class JournalCodec {
+    private static final byte ADD_TEACHER = 1;
+    private static final byte REMOVE_TEACHER = 2;
+    private static final byte ADD_STUDENT = 3;
+    private static final byte REMOVE_STUDENT = 4;
+    // History shard records
+    private static final byte START_HISTORY = 5;
+    private static final byte ADD_WORD = 6;
+
+    private final ArrayList<Teacher> teachers;
+    private final HashMap<Long, Teacher> teachersById;
+    private final HashMap<Long, Student> studentsById;
+    private long nextId = 1;
+
+    /**
+     * Loaded teachers and students are added to the given list and indexes, in the order they are read.
+     */
+    JournalCodec(ArrayList<Teacher> teachers, HashMap<Long, Teacher> teachersById, HashMap<Long, Student> studentsById) {
+        this.teachers = teachers;
+        this.teachersById = teachersById;
+        this.studentsById = studentsById;
+    }
+
+    /**
+     * The lowest ID not used by anything loaded so far.
+     */
+    long getNextId() {
+        return nextId;
+    }
+
+    static byte[] addTeacher(Teacher teacher) {
+        Writer writer = new Writer(ADD_TEACHER);
+        writer.writeLong(teacher.getId());
+        writer.writeString(teacher.getName());
+        return writer.toByteArray();
+    }
+
+    static byte[] removeTeacher(Teacher teacher) {
+        Writer writer = new Writer(REMOVE_TEACHER);
+        writer.writeLong(teacher.getId());
+        return writer.toByteArray();
+    }
+
+    static byte[] addStudent(Teacher teacher, Student student) {
+        Writer writer = new Writer(ADD_STUDENT);
+        writer.writeLong(teacher.getId());
+        writer.writeLong(student.getId());
+        writer.writeString(student.getName());
+        return writer.toByteArray();
+    }
+
+    static byte[] removeStudent(Teacher teacher, Student student) {
+        Writer writer = new Writer(REMOVE_STUDENT);
+        writer.writeLong(teacher.getId());
+        writer.writeLong(student.getId());
+        return writer.toByteArray();
+    }
+
+    static String historyShard(Student student) {
+        return "student-" + student.getId();
+    }
+
+    static byte[] startHistory(History history) {
+        Writer writer = new Writer(START_HISTORY);
+        writer.writeString(history.getGamePlayed());
+        writer.writeLong(history.getDate().getTime());
+        return writer.toByteArray();
+    }
+
+    static byte[] addWord(String word) {
+        Writer writer = new Writer(ADD_WORD);
+        writer.writeString(word);
+        return writer.toByteArray();
+    }
+
+    /**
+     * Encodes every teacher and student, without histories.
+     */
+    static byte[] snapshot(ArrayList<Teacher> teachers, long nextId) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        try {
+            out.writeLong(nextId);
+            out.writeInt(teachers.size());
+            for (Teacher teacher : teachers) {
+                out.writeLong(teacher.getId());
+                out.writeUTF(teacher.getName());
+                out.writeInt(teacher.getStudents().size());
+                for (Student student : teacher.getStudents()) {
+                    out.writeLong(student.getId());
+                    out.writeUTF(student.getName());
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // Cannot happen when writing to memory.
+        }
+        return bytes.toByteArray();
+    }
+
+    void readSnapshot(byte[] snapshot) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(snapshot));
+        nextId = Math.max(nextId, in.readLong());
+        int teacherCount = in.readInt();
+        for (int t = 0; t < teacherCount; t++) {
+            Teacher teacher = putTeacher(in.readLong(), in.readUTF());
+            int studentCount = in.readInt();
+            for (int s = 0; s < studentCount; s++) {
+                putStudent(teacher, in.readLong(), in.readUTF());
+            }
+        }
+    }
+
+    /**
+     * Applies one journal record. Records that refer to something that no longer exists are ignored.
+     */
+    void replay(byte[] record) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(record));
+        byte type = in.readByte();
+        switch (type) {
+            case ADD_TEACHER:
+                putTeacher(in.readLong(), in.readUTF());
+                break;
+            case REMOVE_TEACHER: {
+                Teacher teacher = teachersById.remove(in.readLong());
+                if (teacher != null) {
+                    teachers.remove(teacher);
+                    for (Student student : teacher.getStudents()) {
+                        studentsById.remove(student.getId());
+                    }
+                }
+                break;
+            }
+            case ADD_STUDENT: {
+                Teacher teacher = teachersById.get(in.readLong());
+                long studentId = in.readLong();
+                String name = in.readUTF();
+                if (teacher != null) {
+                    putStudent(teacher, studentId, name);
+                }
+                break;
+            }
+            case REMOVE_STUDENT: {
+                Teacher teacher = teachersById.get(in.readLong());
+                Student student = studentsById.remove(in.readLong());
+                if (teacher != null && student != null) {
+                    teacher.getStudents().remove(student);
+                }
+                break;
+            }
+            default:
+                throw new IOException("Unknown journal record type " + type);
+        }
+    }
+
+    /**
+     * Rebuilds a student's histories from the records of their shard.
+     *
+     * @param student Receives the histories along with their weight for the HistoryCache.
+     */
+    static void readHistoryShard(Student student, ArrayList<byte[]> records) throws IOException {
+        ArrayList<History> histories = new ArrayList<History>();
+        History current = null;
+        for (byte[] record : records) {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(record));
+            byte type = in.readByte();
+            switch (type) {
+                case START_HISTORY:
+                    current = new History(in.readUTF(), new Date(in.readLong()));
+                    histories.add(current);
+                    break;
+                case ADD_WORD:
+                    if (current != null) {
+                        current.addWord(in.readUTF());
+                    }
+                    break;
+                default:
+                    throw new IOException("Unknown history record type " + type);
+            }
+        }
+        student.setLoadedHistory(histories, records.size());
+    }
+
+    private Teacher putTeacher(long id, String name) {
+        Teacher teacher = new Teacher(id, name);
+        teachers.add(teacher);
+        teachersById.put(id, teacher);
+        nextId = Math.max(nextId, id + 1);
+        return teacher;
+    }
+
+    private Student putStudent(Teacher teacher, long id, String name) {
+        Student student = new Student(id, name);
+        teacher.getStudents().add(student);
+        studentsById.put(id, student);
+        nextId = Math.max(nextId, id + 1);
+        return student;
+    }
+
+    /**
+     * Builds a single record in memory.
+     */
+    private static class Writer {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream(32);
+        private final DataOutputStream out = new DataOutputStream(bytes);
+
+        Writer(byte type) {
+            try {
+                out.writeByte(type);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        void writeLong(long value) {
+            try {
+                out.writeLong(value);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        void writeString(String value) {
+            try {
+                out.writeUTF(value);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        byte[] toByteArray() {
+            return bytes.toByteArray();
+        }
+    }
+}
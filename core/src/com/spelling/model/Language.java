@@ -0,0 +1,55 @@
+package com.spelling.model;
+
+import com.badlogic.gdx.Gdx;
+
+/**
+ * A language of the word pack. Languages are listed in the header of the word pack, so finding them costs only
+ * their id and name; the language pack in {@code languages/<id>.json} is parsed the first time it is needed, when
+ * the language is played.
+ */
+public class Language {
+    private final int index;
+    private final String id;
+    private final String name;
+    private LanguagePack pack;
+
+    public Language(int index, String id, String name) {
+        this.index = index;
+        this.id = id;
+        this.name = name;
+    }
+
+    /**
+     * The position of the language in the word pack, which is also where its spelling is kept in each Word.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * The language pack, parsed on first use.
+     */
+    public LanguagePack getPack() {
+        if (pack == null) {
+            pack = LanguagePack.parse(Gdx.files.internal("languages/" + id + ".json").readString("UTF-8"));
+        }
+        return pack;
+    }
+
+    public boolean isPackLoaded() {
+        return pack != null;
+    }
+
+    @Override
+    public String toString() {
+        return id;
+    }
+}
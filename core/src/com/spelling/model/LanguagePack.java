@@ -0,0 +1,177 @@
+package com.spelling.model;
+
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+
+import java.util.ArrayList;
+import java.util.Locale;
+
+/**
+ * What the games need to know about a language, read from its descriptor in {@code languages/<id>.json}:
+ * <pre>
+ * {
+ *   name: Hmong,
+ *   letterSounds: sounds/HmongAlphabet,   // letter sounds, one mp3 per letter name
+ *   wordSounds: sounds/HmongWords,        // word sounds, one mp3 per audio key
+ *   tokenizer: syllables,                 // or letters, one space per character
+ *   layout: { cellSize: 89, cellSizeNarrow: 109, letterInset: 10 },
+ *   groups: [
+ *     { role: consonant, columns: 15, columnsNarrow: 10, plate: true, letters: [ c, ch, ... ] },
+ *     ...
+ *   ]
+ * }
+ * </pre>
+ * The groups are the letter tables shown in the game, in order. Their role tells the tokenizer what the letters are:
+ * letter, consonant, vowel or tone. A tone is named by an example word and spelled with its last letter, "muS" as
+ * "s". The layout sizes are in virtual pixels, and the narrow values are used on 4:3 screens.
+ */
+public class LanguagePack {
+    public static final String LETTERS = "letters";
+    public static final String SYLLABLES = "syllables";
+
+    private String name;
+    private String letterSounds;
+    private String wordSounds;
+    private String tokenizerType;
+    private int cellSize;
+    private int cellSizeNarrow;
+    private int letterInset;
+    private final ArrayList<LetterGroup> groups = new ArrayList<LetterGroup>();
+    private SyllableTokenizer tokenizer;
+
+    /**
+     * Parses a descriptor.
+     *
+     * @throws IllegalArgumentException If the descriptor is missing something the games need.
+     */
+    public static LanguagePack parse(String json) {
+        JsonValue root = new JsonReader().parse(json);
+        LanguagePack pack = new LanguagePack();
+        pack.name = root.getString("name");
+        pack.letterSounds = root.getString("letterSounds");
+        pack.wordSounds = root.getString("wordSounds");
+        pack.tokenizerType = root.getString("tokenizer", LETTERS);
+        JsonValue layout = root.get("layout");
+        pack.cellSize = layout.getInt("cellSize");
+        pack.cellSizeNarrow = layout.getInt("cellSizeNarrow", pack.cellSize);
+        pack.letterInset = layout.getInt("letterInset", 0);
+        for (JsonValue group = root.get("groups").child; group != null; group = group.next) {
+            pack.groups.add(new LetterGroup(group.getString("role"), group.get("letters").asStringArray(),
+                    group.getInt("columns"), group.getInt("columnsNarrow", group.getInt("columns")),
+                    group.getBoolean("plate", false)));
+        }
+        if (!LETTERS.equals(pack.tokenizerType) && !SYLLABLES.equals(pack.tokenizerType)) {
+            throw new IllegalArgumentException("Unknown tokenizer " + pack.tokenizerType);
+        }
+        if (SYLLABLES.equals(pack.tokenizerType) && pack.getLetters(LetterGroup.VOWEL).length == 0) {
+            throw new IllegalArgumentException("A syllable language needs vowels");
+        }
+        return pack;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * The folder of the letter sounds, such as {@code sounds/HmongAlphabet}.
+     */
+    public String getLetterSounds() {
+        return letterSounds;
+    }
+
+    /**
+     * The folder of the word sounds, such as {@code sounds/HmongWords}.
+     */
+    public String getWordSounds() {
+        return wordSounds;
+    }
+
+    public boolean isSyllabic() {
+        return SYLLABLES.equals(tokenizerType);
+    }
+
+    public int getCellSize(boolean narrow) {
+        return narrow ? cellSizeNarrow : cellSize;
+    }
+
+    /**
+     * How much smaller a letter is than its cell.
+     */
+    public int getLetterInset() {
+        return letterInset;
+    }
+
+    public ArrayList<LetterGroup> getGroups() {
+        return groups;
+    }
+
+    /**
+     * The names of the letters of a role across all groups, in order.
+     */
+    public String[] getLetters(String role) {
+        ArrayList<String> letters = new ArrayList<String>();
+        for (LetterGroup group : groups) {
+            if (group.role.equals(role)) {
+                for (String letter : group.letters) {
+                    letters.add(letter);
+                }
+            }
+        }
+        return letters.toArray(new String[letters.size()]);
+    }
+
+    /**
+     * How a letter is written in a word: a tone with the last letter of its name, anything else as named.
+     */
+    public static String spell(String role, String letter) {
+        return LetterGroup.TONE.equals(role) ? letter.substring(letter.length() - 1).toLowerCase(Locale.ROOT) : letter;
+    }
+
+    /**
+     * A tokenizer for a syllable language, numbering consonants, then vowels, then tones. Null for a language
+     * spelled one letter per space.
+     */
+    public SyllableTokenizer getTokenizer() {
+        if (tokenizer == null && isSyllabic()) {
+            tokenizer = new SyllableTokenizer(getLetters(LetterGroup.CONSONANT), getLetters(LetterGroup.VOWEL),
+                    getLetters(LetterGroup.TONE));
+        }
+        return tokenizer;
+    }
+
+    /**
+     * The number of game spaces a spelling needs, or -1 if it cannot be split into the letters of the language.
+     */
+    public int getSpaceLength(String spelling) {
+        return isSyllabic() ? getTokenizer().getSpaceLength(spelling) : spelling.length();
+    }
+
+    /**
+     * A table of letters in the game.
+     */
+    public static class LetterGroup {
+        public static final String LETTER = "letter";
+        public static final String CONSONANT = "consonant";
+        public static final String VOWEL = "vowel";
+        public static final String TONE = "tone";
+
+        public final String role;
+        public final String[] letters;
+        public final int columns;
+        public final int columnsNarrow;
+        public final boolean plate;
+
+        LetterGroup(String role, String[] letters, int columns, int columnsNarrow, boolean plate) {
+            this.role = role;
+            this.letters = letters;
+            this.columns = columns;
+            this.columnsNarrow = columnsNarrow;
+            this.plate = plate;
+        }
+
+        public int getColumns(boolean narrow) {
+            return narrow ? columnsNarrow : columns;
+        }
+    }
+}
@@ -3,29 +3,104 @@ package com.spelling.model;
 import java.util.ArrayList;
 
 public class Student {
+    private long id;
     private String name;
-    private ArrayList<History> gameHistories;
+    private ArrayList<History> gameHistories; // Null while the histories are only on disk.
     private History currentHistory;
+    private int historyWeight;
 
     public Student(String name) {
         this.name = name;
         gameHistories = new ArrayList<History>();
     }
 
+    /**
+     * A saved student whose histories are loaded from disk the first time they are needed.
+     */
+    Student(long id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    /**
+     * Stable ID assigned when the student is added to the DataManager. Zero until then.
+     */
+    public long getId() {
+        return id;
+    }
+
+    void setId(long id) {
+        this.id = id;
+    }
+
     public String getName() {
         return name;
     }
 
     public ArrayList<History> getGameHistory() {
+        if (gameHistories == null) {
+            DataManager.loadHistories(this);
+        }
         return gameHistories;
     }
 
+    /**
+     * Starts a history for a new game. Histories that are still on disk stay there; the new one is queued for the
+     * shard and is read back with them.
+     */
     public void startNewCurrentHistory(History history) {
+        if (gameHistories != null) {
+            gameHistories.add(history);
+        }
         currentHistory = history;
-        gameHistories.add(history);
+        DataManager.recordHistory(this, JournalCodec.startHistory(history));
     }
 
     public void addToCurrentHistory(String word) {
         currentHistory.addWord(word);
+        DataManager.recordHistory(this, JournalCodec.addWord(word));
+    }
+
+    boolean isHistoryLoaded() {
+        return gameHistories != null;
+    }
+
+    /**
+     * Sets the histories read from disk. A game in progress keeps adding to its own history, which is the last one.
+     */
+    void setLoadedHistory(ArrayList<History> histories, int weight) {
+        gameHistories = histories;
+        historyWeight = weight;
+        if (currentHistory != null && !histories.isEmpty()) {
+            currentHistory = histories.get(histories.size() - 1);
+        }
+    }
+
+    /**
+     * Starts the histories over with only the game in progress, when there is no shard to read them from.
+     */
+    void setUnsavedHistory() {
+        gameHistories = new ArrayList<History>();
+        historyWeight = 0;
+        if (currentHistory != null) {
+            gameHistories.add(currentHistory);
+            historyWeight = 1 + currentHistory.getWordsSpelled().size();
+        }
+    }
+
+    void unloadHistory() {
+        gameHistories = null;
+        historyWeight = 0;
+    }
+
+    /**
+     * Roughly how much memory the loaded histories take, counted in histories plus words.
+     */
+    int getHistoryWeight() {
+        return historyWeight;
+    }
+
+    void addHistoryWeight(int weight) {
+        historyWeight += weight;
     }
 }
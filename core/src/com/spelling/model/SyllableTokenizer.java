@@ -0,0 +1,187 @@
+package com.spelling.model;
+
+import java.util.Arrays;
+
+/**
+ * Splits words written in syllables, such as Hmong, into their consonant, vowel and tone letters. Each syllable is
+ * an optional consonant, a vowel and an optional tone, and takes the longest consonant that still has a vowel after
+ * it and the longest vowel. The letters are looked up in tries built from the inventories, so a word is split in one
+ * pass over its characters without building strings.
+ * <p>
+ * Tokens number the inventories in order: consonants first, then vowels, then tones. A tone is written as the last
+ * letter of its name, "muS" as "s". Not thread safe.
+ */
+public class SyllableTokenizer {
+    /**
+     * The token of a space between syllables, which stays empty in the game.
+     */
+    public static final int SPACE = -1;
+
+    private final Trie consonants;
+    private final Trie vowels;
+    private final Trie tones;
+    private int[] tokens = new int[16];
+
+    public SyllableTokenizer(String[] consonants, String[] vowels, String[] tones) {
+        String[] toneMarks = new String[tones.length];
+        for (int i = 0; i < tones.length; i++) {
+            toneMarks[i] = tones[i].substring(tones[i].length() - 1);
+        }
+        this.consonants = new Trie(consonants, 0);
+        this.vowels = new Trie(vowels, consonants.length);
+        this.tones = new Trie(toneMarks, consonants.length + vowels.length);
+    }
+
+    /**
+     * The token for each space of a word, with SPACE between syllables.
+     *
+     * @return Null if the word cannot be split into the letters of the inventories.
+     */
+    public int[] tokenize(CharSequence word) {
+        int count = split(word);
+        if (count < 0) {
+            return null;
+        }
+        int[] result = new int[count];
+        System.arraycopy(tokens, 0, result, 0, count);
+        return result;
+    }
+
+    /**
+     * The number of spaces a word needs, or -1 if it cannot be split.
+     */
+    public int getSpaceLength(CharSequence word) {
+        return split(word);
+    }
+
+    /**
+     * Splits a word into the tokens buffer.
+     *
+     * @return The number of tokens, or -1 if the word cannot be split.
+     */
+    private int split(CharSequence word) {
+        int length = word.length();
+        if (tokens.length < length) {
+            tokens = new int[length];
+        }
+        int count = 0;
+        int i = 0;
+        while (i < length) {
+            if (word.charAt(i) == ' ') {
+                tokens[count++] = SPACE;
+                i++;
+                continue;
+            }
+            // The longest consonant with a vowel after it, if any.
+            int consonantEnd = -1;
+            int consonantToken = 0;
+            int node = 0;
+            for (int j = i; j < length && (node = consonants.next(node, word.charAt(j))) > 0; j++) {
+                if (consonants.token(node) != Trie.NO_LETTER && vowels.longest(word, j + 1) > j + 1) {
+                    consonantEnd = j + 1;
+                    consonantToken = consonants.token(node);
+                }
+            }
+            if (consonantEnd > 0) {
+                tokens[count++] = consonantToken;
+                i = consonantEnd;
+            }
+            int vowelEnd = vowels.longest(word, i);
+            if (vowelEnd <= i) {
+                return -1;
+            }
+            tokens[count++] = vowels.lastToken;
+            i = vowelEnd;
+            // A tone letter followed by a vowel starts the next syllable instead.
+            int toneEnd = tones.longest(word, i);
+            if (toneEnd > i) {
+                int toneToken = tones.lastToken;
+                if (toneEnd == length || vowels.longest(word, toneEnd) <= toneEnd) {
+                    tokens[count++] = toneToken;
+                    i = toneEnd;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * A trie over the letters a to z, case insensitive, stored in arrays. Node 0 is the root.
+     */
+    private static class Trie {
+        private static final int LETTERS = 26;
+        private static final int NO_LETTER = -1;
+
+        private int[] next;
+        private int[] nodeTokens;
+        private int nodeCount = 1;
+        // The token of the last match found by longest.
+        int lastToken;
+
+        Trie(String[] letters, int firstToken) {
+            int capacity = 1;
+            for (String letter : letters) {
+                capacity += letter.length();
+            }
+            next = new int[capacity * LETTERS];
+            nodeTokens = new int[capacity];
+            Arrays.fill(nodeTokens, NO_LETTER);
+            for (int i = 0; i < letters.length; i++) {
+                int node = 0;
+                for (int j = 0; j < letters[i].length(); j++) {
+                    int index = index(letters[i].charAt(j));
+                    if (index < 0) {
+                        throw new IllegalArgumentException("Letters must be written with a to z: " + letters[i]);
+                    }
+                    if (next[node * LETTERS + index] == 0) {
+                        next[node * LETTERS + index] = nodeCount++;
+                    }
+                    node = next[node * LETTERS + index];
+                }
+                nodeTokens[node] = firstToken + i;
+            }
+        }
+
+        private static int index(char c) {
+            if (c >= 'a' && c <= 'z') {
+                return c - 'a';
+            }
+            if (c >= 'A' && c <= 'Z') {
+                return c - 'A';
+            }
+            return -1;
+        }
+
+        /**
+         * The node after a character, or 0 if the trie has no such path.
+         */
+        int next(int node, char c) {
+            int index = index(c);
+            return index < 0 ? 0 : next[node * LETTERS + index];
+        }
+
+        /**
+         * The token of a node, or NO_LETTER if no letter ends there.
+         */
+        int token(int node) {
+            return nodeTokens[node];
+        }
+
+        /**
+         * The end of the longest letter at a position of a word, with its token in lastToken.
+         *
+         * @return The end index, or start if no letter is there.
+         */
+        int longest(CharSequence word, int start) {
+            int end = start;
+            int node = 0;
+            for (int j = start; j < word.length() && (node = next(node, word.charAt(j))) > 0; j++) {
+                if (nodeTokens[node] != NO_LETTER) {
+                    end = j + 1;
+                    lastToken = nodeTokens[node];
+                }
+            }
+            return end;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.spelling.model;
 import java.util.ArrayList;
 
 public class Teacher {
+    private long id;
     private String name;
     private ArrayList<Student> students;
 
@@ -11,6 +12,22 @@ public class Teacher {
         students = new ArrayList<Student>();
     }
 
+    Teacher(long id, String name) {
+        this(name);
+        this.id = id;
+    }
+
+    /**
+     * Stable ID assigned when the teacher is added to the DataManager. Zero until then.
+     */
+    public long getId() {
+        return id;
+    }
+
+    void setId(long id) {
+        this.id = id;
+    }
+
     public String getName() {
         return name;
     }
@@ -1,56 +1,53 @@
 package com.spelling.model;
 
-import com.spelling.viewmodel.ScreenManager;
-
 /**
- * A Word has an English and Hmong spelling. The ID associated with a Word is the english spelling. A hmong word has
- * a certain amount of game spaces that differ from character count.
+ * A Word has a spelling in each language of the word pack. The ID associated with a Word is its spelling in the
+ * first language, English. Each spelling takes a certain amount of game spaces that can differ from its character
+ * count, worked out by the language's tokenizer when the word pack is compiled. The picture and audio keys name the
+ * atlas region and the sound file of the word, and default to the ID.
  */
 public class Word implements Comparable<String> {
-    private String englishSpelling;
-    private String hmongSpelling;
-    private int hmongSpaceLength;
-
-    public Word(String englishSpelling, String hmongSpelling, int hmongSpaceLength) {
-        this.englishSpelling = englishSpelling;
-        this.hmongSpelling = hmongSpelling;
-        this.hmongSpaceLength = hmongSpaceLength;
+    private String[] spellings;
+    private int[] spaceLengths;
+    private String pictureKey;
+    private String audioKey;
+
+    /**
+     * @param spellings    The spelling in each language, in the order of the word pack's languages.
+     * @param spaceLengths The game spaces of each spelling.
+     */
+    public Word(String[] spellings, int[] spaceLengths, String pictureKey, String audioKey) {
+        this.spellings = spellings;
+        this.spaceLengths = spaceLengths;
+        this.pictureKey = pictureKey;
+        this.audioKey = audioKey;
     }
 
     public String getWordId() {
-        return englishSpelling;
+        return spellings[0];
     }
 
-    /**
-     * Simply returns a string based on what language
-     */
-    public String getSpelling(ScreenManager.Language language) {
-        switch (language) {
-            case ENGLISH:
-                return englishSpelling;
-            case HMONG:
-                return hmongSpelling;
-            default:
-                return null;
-        }
+    public String getPictureKey() {
+        return pictureKey;
+    }
+
+    public String getAudioKey() {
+        return audioKey;
+    }
+
+    public String getSpelling(Language language) {
+        return spellings[language.getIndex()];
     }
 
     /**
      * Returns the number of spaces based on language.
      */
-    public int getSpaceLength(ScreenManager.Language language) {
-        switch (language) {
-            case ENGLISH:
-                return englishSpelling.length();
-            case HMONG:
-                return hmongSpaceLength;
-            default:
-                return 0;
-        }
+    public int getSpaceLength(Language language) {
+        return spaceLengths[language.getIndex()];
     }
 
     @Override
     public int compareTo(String o) {
-        return o.compareTo(this.englishSpelling);
+        return o.compareTo(getWordId());
     }
 }
@@ -0,0 +1,153 @@
+package com.spelling.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Locale;
+
+/**
+ * Looks up words by their spelling in each language, and finds words by spelling prefix for searching and
+ * autocompleting while word lists are built.
+ */
+class WordIndex {
+    // Indexed by Language.getIndex().
+    private final ArrayList<HashMap<String, Word>> bySpelling = new ArrayList<HashMap<String, Word>>();
+    private final ArrayList<PrefixTrie> prefixes = new ArrayList<PrefixTrie>();
+    private final Language[] languages;
+
+    WordIndex(Language[] languages) {
+        this.languages = languages;
+        for (int i = 0; i < languages.length; i++) {
+            bySpelling.add(new HashMap<String, Word>());
+            prefixes.add(new PrefixTrie());
+        }
+    }
+
+    void add(Word word) {
+        for (Language language : languages) {
+            String spelling = word.getSpelling(language).toLowerCase(Locale.ROOT);
+            bySpelling.get(language.getIndex()).put(spelling, word);
+            prefixes.get(language.getIndex()).add(spelling, word);
+        }
+    }
+
+    Word getBySpelling(Language language, String spelling) {
+        return bySpelling.get(language.getIndex()).get(spelling.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Collects words whose spelling starts with the prefix, ignoring case, in alphabetical order.
+     *
+     * @param limit The most words to collect.
+     */
+    void search(Language language, String prefix, int limit, ArrayList<Word> results) {
+        prefixes.get(language.getIndex()).search(prefix, limit, results);
+    }
+
+    /**
+     * A character trie stored in parallel arrays, one entry per node, so a large vocabulary costs a few arrays
+     * rather than an object or String per node. Siblings are linked in character order.
+     */
+    private static class PrefixTrie {
+        private static final int NONE = -1;
+
+        private char[] nodeChar = new char[256];
+        private int[] firstChild = new int[256];
+        private int[] nextSibling = new int[256];
+        private int[] firstWord = new int[256]; // Index into words of the first word ending at this node.
+        private int nodeCount = 1; // Node 0 is the root.
+
+        private final ArrayList<Word> words = new ArrayList<Word>();
+        private int[] nextWord = new int[64]; // Next word with the same spelling.
+
+        PrefixTrie() {
+            firstChild[0] = NONE;
+            nextSibling[0] = NONE;
+            firstWord[0] = NONE;
+        }
+
+        void add(String spelling, Word word) {
+            int node = 0;
+            for (int i = 0; i < spelling.length(); i++) {
+                node = child(node, spelling.charAt(i), true);
+            }
+            if (words.size() == nextWord.length) {
+                nextWord = grow(nextWord);
+            }
+            int wordIndex = words.size();
+            words.add(word);
+            nextWord[wordIndex] = firstWord[node];
+            firstWord[node] = wordIndex;
+        }
+
+        void search(String prefix, int limit, ArrayList<Word> results) {
+            int node = 0;
+            for (int i = 0; i < prefix.length() && node != NONE; i++) {
+                node = child(node, Character.toLowerCase(prefix.charAt(i)), false);
+            }
+            if (node != NONE) {
+                collect(node, limit, results);
+            }
+        }
+
+        /**
+         * Adds the words at and below a node, depth first so results come out in alphabetical order.
+         */
+        private void collect(int node, int limit, ArrayList<Word> results) {
+            for (int word = firstWord[node]; word != NONE && results.size() < limit; word = nextWord[word]) {
+                results.add(words.get(word));
+            }
+            for (int child = firstChild[node]; child != NONE && results.size() < limit; child = nextSibling[child]) {
+                collect(child, limit, results);
+            }
+        }
+
+        /**
+         * Finds the child of a node for a character, optionally inserting it in sibling order.
+         *
+         * @return The child node, or NONE if it does not exist and was not created.
+         */
+        private int child(int node, char c, boolean create) {
+            int previous = NONE;
+            int child = firstChild[node];
+            while (child != NONE && nodeChar[child] < c) {
+                previous = child;
+                child = nextSibling[child];
+            }
+            if (child != NONE && nodeChar[child] == c) {
+                return child;
+            }
+            if (!create) {
+                return NONE;
+            }
+            if (nodeCount == nodeChar.length) {
+                nodeChar = grow(nodeChar);
+                firstChild = grow(firstChild);
+                nextSibling = grow(nextSibling);
+                firstWord = grow(firstWord);
+            }
+            int created = nodeCount++;
+            nodeChar[created] = c;
+            firstChild[created] = NONE;
+            firstWord[created] = NONE;
+            nextSibling[created] = child;
+            if (previous == NONE) {
+                firstChild[node] = created;
+            } else {
+                nextSibling[previous] = created;
+            }
+            return created;
+        }
+
+        private static int[] grow(int[] array) {
+            int[] grown = new int[array.length * 2];
+            System.arraycopy(array, 0, grown, 0, array.length);
+            return grown;
+        }
+
+        private static char[] grow(char[] array) {
+            char[] grown = new char[array.length * 2];
+            System.arraycopy(array, 0, grown, 0, array.length);
+            return grown;
+        }
+    }
+}
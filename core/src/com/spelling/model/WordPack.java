@@ -0,0 +1,162 @@
+package com.spelling.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+
+/**
+ * A read-only vocabulary in the binary word-pack format written by {@link WordPackWriter}.
+ * <p>
+ * Opening a pack only checks its header; the buffer is normally a memory-mapped file. A {@link Word} is decoded from
+ * the buffer the first time it is asked for and kept after that, so a large pack costs about as much to open as the
+ * file itself.
+ * <p>
+ * Layout, big-endian:
+ * <pre>
+ * int magic, int version, int wordCount, int languageCount, int poolOffset
+ * languageCount entries of 2 ints: language id, language name
+ * wordCount entries of 2 + 2 * languageCount ints: picture, audio, then each language's spelling and space count
+ * string pool: for each string an unsigned short byte length and its UTF-8 bytes
+ * </pre>
+ * The string fields are offsets into the pool. The languages are those of the word pack's {@link Language}s, so they
+ * are known as soon as the pack opens. Entries are sorted by the UTF-8 bytes of their spelling in the first language,
+ * the word ID, so IDs can be found by binary search without decoding other words.
+ */
+public class WordPack {
+    static final int MAGIC = 0x53505750;
+    static final int VERSION = 2;
+    static final int HEADER_SIZE = 20;
+    static final Charset UTF8 = Charset.forName("UTF-8");
+
+    public static final WordPack EMPTY = new WordPack(null, 0, new Language[0], 0, 0);
+
+    private final ByteBuffer buffer;
+    private final int wordCount;
+    private final Language[] languages;
+    private final int entriesOffset;
+    private final int entrySize;
+    private final int poolOffset;
+    private final Word[] decoded;
+
+    private WordPack(ByteBuffer buffer, int wordCount, Language[] languages, int entriesOffset, int poolOffset) {
+        this.buffer = buffer;
+        this.wordCount = wordCount;
+        this.languages = languages;
+        this.entriesOffset = entriesOffset;
+        this.entrySize = entrySize(languages.length);
+        this.poolOffset = poolOffset;
+        this.decoded = new Word[wordCount];
+    }
+
+    static int entrySize(int languageCount) {
+        return 4 * (2 + 2 * languageCount);
+    }
+
+    /**
+     * Checks the header of a pack. The buffer is only read, never modified, and must stay valid while the pack is used.
+     */
+    public static WordPack open(ByteBuffer buffer) throws IOException {
+        buffer.order(ByteOrder.BIG_ENDIAN);
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a word pack");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException("Unsupported word pack version " + buffer.getInt(4));
+        }
+        int wordCount = buffer.getInt(8);
+        int languageCount = buffer.getInt(12);
+        int poolOffset = buffer.getInt(16);
+        int entriesOffset = HEADER_SIZE + languageCount * 8;
+        if (wordCount < 0 || languageCount < 1 || poolOffset != entriesOffset + wordCount * entrySize(languageCount)
+                || poolOffset > buffer.limit()) {
+            throw new IOException("Word pack header is corrupt");
+        }
+        WordPack pack = new WordPack(buffer, wordCount, new Language[languageCount], entriesOffset, poolOffset);
+        for (int i = 0; i < languageCount; i++) {
+            pack.languages[i] = new Language(i, pack.string(buffer.getInt(HEADER_SIZE + i * 8)),
+                    pack.string(buffer.getInt(HEADER_SIZE + i * 8 + 4)));
+        }
+        return pack;
+    }
+
+    public int size() {
+        return wordCount;
+    }
+
+    /**
+     * The languages of the pack, in the order their spellings are kept in each word.
+     */
+    public Language[] getLanguages() {
+        return languages;
+    }
+
+    /**
+     * The word at an index, decoded on first use.
+     */
+    public Word get(int index) {
+        Word word = decoded[index];
+        if (word == null) {
+            int entry = entriesOffset + index * entrySize;
+            String[] spellings = new String[languages.length];
+            int[] spaceLengths = new int[languages.length];
+            for (int i = 0; i < languages.length; i++) {
+                spellings[i] = string(buffer.getInt(entry + 8 + i * 8));
+                spaceLengths[i] = buffer.getInt(entry + 12 + i * 8);
+            }
+            word = new Word(spellings, spaceLengths, string(buffer.getInt(entry)), string(buffer.getInt(entry + 4)));
+            decoded[index] = word;
+        }
+        return word;
+    }
+
+    /**
+     * Finds the index of a word by its ID.
+     *
+     * @return The index, or -1 if the pack does not contain the word.
+     */
+    public int indexOf(String wordId) {
+        byte[] key = wordId.getBytes(UTF8);
+        int low = 0;
+        int high = wordCount - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int order = compare(buffer.getInt(entriesOffset + middle * entrySize + 8), key);
+            if (order < 0) {
+                low = middle + 1;
+            } else if (order > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Compares a pool string with UTF-8 bytes, byte by byte as unsigned values.
+     */
+    private int compare(int stringOffset, byte[] key) {
+        int position = poolOffset + stringOffset;
+        int length = buffer.getShort(position) & 0xffff;
+        position += 2;
+        int common = Math.min(length, key.length);
+        for (int i = 0; i < common; i++) {
+            int difference = (buffer.get(position + i) & 0xff) - (key[i] & 0xff);
+            if (difference != 0) {
+                return difference;
+            }
+        }
+        return length - key.length;
+    }
+
+    private String string(int stringOffset) {
+        int position = poolOffset + stringOffset;
+        int length = buffer.getShort(position) & 0xffff;
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = buffer.get(position + 2 + i);
+        }
+        return new String(bytes, UTF8);
+    }
+}
@@ -0,0 +1,250 @@
+package com.spelling.model;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+
+/**
+ * Compiles a CSV vocabulary into the {@link WordPack} format.
+ * <p>
+ * The header line names the columns: one for each language, by the id of its pack in {@code languages/}, then the
+ * optional picture and audio columns, such as {@code english,hmong,picture,audio}. The first language's spelling is
+ * the word ID, and the picture and audio keys default to it. Empty lines and lines starting with # are skipped.
+ * <p>
+ * The number of game spaces of each spelling is worked out with the tokenizer of its language pack. Spellings that
+ * cannot be split into the letters of their language are all reported together.
+ * <p>
+ * Usage: {@code WordPackWriter words.csv words.pack [languages folder]}
+ */
+public class WordPackWriter {
+    private final File languagesFolder;
+    private final ArrayList<String> languageIds = new ArrayList<String>();
+    private final ArrayList<LanguagePack> languagePacks = new ArrayList<LanguagePack>();
+    // Per entry: picture, audio, then each language's spelling and space count.
+    private final ArrayList<String[]> entries = new ArrayList<String[]>();
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2 || args.length > 3) {
+            System.err.println("Usage: WordPackWriter <words.csv> <words.pack> [languages folder]");
+            System.exit(1);
+        }
+        WordPackWriter writer = new WordPackWriter(new File(args.length > 2 ? args[2] : "languages"));
+        writer.readCsv(args[0]);
+        OutputStream out = new FileOutputStream(args[1]);
+        try {
+            writer.write(out);
+        } finally {
+            out.close();
+        }
+        System.out.println("Wrote " + writer.entries.size() + " words in " + writer.languageIds + " to " + args[1]);
+    }
+
+    /**
+     * @param languagesFolder Where the language packs named in the CSV header are found.
+     */
+    public WordPackWriter(File languagesFolder) {
+        this.languagesFolder = languagesFolder;
+    }
+
+    public void readCsv(String fileName) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(fileName), WordPack.UTF8));
+        StringBuilder unsplit = new StringBuilder();
+        int unsplitCount = 0;
+        try {
+            String line;
+            int lineNumber = 0;
+            int pictureColumn = -1;
+            int audioColumn = -1;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.length() == 0 || line.startsWith("#")) {
+                    continue;
+                }
+                String[] fields = line.split(",", -1);
+                for (int i = 0; i < fields.length; i++) {
+                    fields[i] = fields[i].trim();
+                }
+                if (languageIds.isEmpty()) { // The header
+                    for (int i = 0; i < fields.length; i++) {
+                        if (fields[i].equalsIgnoreCase("picture")) {
+                            pictureColumn = i;
+                        } else if (fields[i].equalsIgnoreCase("audio")) {
+                            audioColumn = i;
+                        } else {
+                            addLanguage(fields[i].toLowerCase());
+                        }
+                    }
+                    if (languageIds.isEmpty()) {
+                        throw new IOException(fileName + ":" + lineNumber + ": the header names no languages");
+                    }
+                    continue;
+                }
+                if (fields.length < languageIds.size() || fields.length > languageIds.size() + 2) {
+                    throw new IOException(fileName + ":" + lineNumber + ": expected " + languageIds.size() + " to "
+                            + (languageIds.size() + 2) + " fields");
+                }
+                String id = fields[0];
+                String picture = pictureColumn >= 0 && pictureColumn < fields.length && fields[pictureColumn].length() > 0
+                        ? fields[pictureColumn] : id;
+                String audio = audioColumn >= 0 && audioColumn < fields.length && fields[audioColumn].length() > 0
+                        ? fields[audioColumn] : id;
+                String[] spellings = new String[languageIds.size()];
+                int language = 0;
+                for (int i = 0; i < fields.length && language < spellings.length; i++) {
+                    if (i != pictureColumn && i != audioColumn) {
+                        spellings[language++] = fields[i];
+                    }
+                }
+                String failed = add(spellings, picture, audio);
+                if (failed != null) {
+                    unsplit.append("\n  ").append(fileName).append(':').append(lineNumber).append(": ").append(failed);
+                    unsplitCount++;
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        if (unsplitCount > 0) {
+            throw new IOException(unsplitCount + " spellings cannot be split into the letters of their language:"
+                    + unsplit);
+        }
+    }
+
+    private void addLanguage(String id) throws IOException {
+        File file = new File(languagesFolder, id + ".json");
+        InputStream in = new FileInputStream(file);
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                bytes.write(buffer, 0, read);
+            }
+            languagePacks.add(LanguagePack.parse(new String(bytes.toByteArray(), WordPack.UTF8)));
+        } catch (IllegalArgumentException e) {
+            throw new IOException(file + ": " + e.getMessage(), e);
+        } finally {
+            in.close();
+        }
+        languageIds.add(id);
+    }
+
+    /**
+     * Adds a word, working out the spaces of its spellings.
+     *
+     * @param spellings The spelling in each language of the CSV header, in order.
+     * @return Null, or the spelling that cannot be split into the letters of its language, in which case the word is
+     * not added.
+     */
+    public String add(String[] spellings, String picture, String audio) {
+        String[] entry = new String[2 + 2 * spellings.length];
+        entry[0] = picture;
+        entry[1] = audio;
+        for (int i = 0; i < spellings.length; i++) {
+            int spaceLength = languagePacks.get(i).getSpaceLength(spellings[i]);
+            if (spaceLength < 0) {
+                return spellings[i];
+            }
+            entry[2 + i * 2] = spellings[i];
+            entry[3 + i * 2] = Integer.toString(spaceLength);
+        }
+        entries.add(entry);
+        return null;
+    }
+
+    /**
+     * Writes the pack. Entries are sorted by ID and identical strings are stored once.
+     */
+    public void write(OutputStream outputStream) throws IOException {
+        Collections.sort(entries, new Comparator<String[]>() {
+            @Override
+            public int compare(String[] o1, String[] o2) {
+                return compareUtf8(o1[2].getBytes(WordPack.UTF8), o2[2].getBytes(WordPack.UTF8));
+            }
+        });
+        for (int i = 1; i < entries.size(); i++) {
+            if (entries.get(i)[2].equals(entries.get(i - 1)[2])) {
+                throw new IOException("Duplicate word ID " + entries.get(i)[2]);
+            }
+        }
+
+        ByteArrayOutputStream poolBytes = new ByteArrayOutputStream();
+        DataOutputStream pool = new DataOutputStream(poolBytes);
+        HashMap<String, Integer> pooled = new HashMap<String, Integer>();
+        int[] languageOffsets = new int[languageIds.size() * 2];
+        for (int i = 0; i < languageIds.size(); i++) {
+            languageOffsets[i * 2] = pool(languageIds.get(i), pool, pooled);
+            languageOffsets[i * 2 + 1] = pool(languagePacks.get(i).getName(), pool, pooled);
+        }
+        int fieldCount = 2 + 2 * languageIds.size();
+        int[][] offsets = new int[entries.size()][fieldCount];
+        for (int i = 0; i < entries.size(); i++) {
+            String[] entry = entries.get(i);
+            for (int field = 0; field < fieldCount; field++) {
+                if (field >= 2 && field % 2 == 1) { // A space count
+                    offsets[i][field] = Integer.parseInt(entry[field]);
+                } else {
+                    offsets[i][field] = pool(entry[field], pool, pooled);
+                }
+            }
+        }
+
+        DataOutputStream out = new DataOutputStream(outputStream);
+        out.writeInt(WordPack.MAGIC);
+        out.writeInt(WordPack.VERSION);
+        out.writeInt(entries.size());
+        out.writeInt(languageIds.size());
+        out.writeInt(WordPack.HEADER_SIZE + languageIds.size() * 8 + entries.size() * WordPack.entrySize(languageIds.size()));
+        for (int offset : languageOffsets) {
+            out.writeInt(offset);
+        }
+        for (int[] entry : offsets) {
+            for (int value : entry) {
+                out.writeInt(value);
+            }
+        }
+        poolBytes.writeTo(out);
+        out.flush();
+    }
+
+    /**
+     * The pool offset of a string, adding it to the pool the first time.
+     */
+    private static int pool(String string, DataOutputStream pool, HashMap<String, Integer> pooled) throws IOException {
+        Integer offset = pooled.get(string);
+        if (offset == null) {
+            offset = pool.size();
+            byte[] bytes = string.getBytes(WordPack.UTF8);
+            if (bytes.length > 0xffff) {
+                throw new IOException("String too long: " + string);
+            }
+            pool.writeShort(bytes.length);
+            pool.write(bytes);
+            pooled.put(string, offset);
+        }
+        return offset;
+    }
+
+    private static int compareUtf8(byte[] a, byte[] b) {
+        int common = Math.min(a.length, b.length);
+        for (int i = 0; i < common; i++) {
+            int difference = (a[i] & 0xff) - (b[i] & 0xff);
+            if (difference != 0) {
+                return difference;
+            }
+        }
+        return a.length - b.length;
+    }
+}
@@ -0,0 +1,451 @@
+package com.spelling.model.storage;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Append-only journal with periodic snapshots, written by a background thread.
+ * <p>
+ * Callers hand over already encoded records with {@link #append(byte[])}. The writer thread drains everything that
+ * has queued up since its last pass, writes the whole batch and syncs the file once (group commit), so the calling
+ * thread never waits on the disk. {@link #checkpoint(byte[])} replaces the snapshot and starts a new journal
+ * generation, which keeps the journal tail that has to be replayed at startup short.
+ * <p>
+ * Data that is only needed now and then can be kept out of the snapshot in shards: separate append-only record
+ * files that are written through the same queue and read on demand with {@link #readShard(String)}. Shard reads go
+ * through the queue too, so a torn record is only ever cut off by the thread that appends to the file.
+ * <p>
+ * Files in the directory: {@code snapshot.bin} holds the snapshot of generation N, {@code journal-N.log} holds
+ * the records written after it and {@code shards/} holds one file per shard.
+ */
+public class Journal {
+    private static final int SNAPSHOT_MAGIC = 0x53504c4e;
+    private static final int SNAPSHOT_VERSION = 2;
+    private static final String SNAPSHOT_FILE = "snapshot.bin";
+    private static final String SNAPSHOT_TEMP_FILE = "snapshot.tmp";
+    private static final String JOURNAL_PREFIX = "journal-";
+    private static final String JOURNAL_SUFFIX = ".log";
+    private static final String SHARD_DIRECTORY = "shards";
+
+    private final File directory;
+    private final File shardDirectory;
+    private final LinkedBlockingQueue<Entry> queue = new LinkedBlockingQueue<Entry>();
+    private long generation;
+    private Thread writerThread;
+    private volatile IOException failure;
+
+    // Only touched by the writer thread once it has started.
+    private FileOutputStream journalStream;
+    private DataOutputStream journalOut;
+    private boolean uncommitted;
+    private final LinkedHashMap<String, ShardFile> openShards = new LinkedHashMap<String, ShardFile>();
+
+    public Journal(File directory) {
+        this.directory = directory;
+        this.shardDirectory = new File(directory, SHARD_DIRECTORY);
+    }
+
+    /**
+     * Reads the latest snapshot and removes files left behind by older generations or an interrupted checkpoint.
+     * A checkpoint interrupted after the old snapshot was removed but before the new one was renamed in leaves only
+     * {@code snapshot.tmp}; if that file is complete it becomes the snapshot before anything is cleaned up.
+     *
+     * @return The snapshot payload, or null if nothing has been saved yet.
+     */
+    public byte[] open() throws IOException {
+        if (!shardDirectory.isDirectory() && !shardDirectory.mkdirs()) {
+            throw new IOException("Cannot create data directory " + shardDirectory);
+        }
+        File snapshotFile = new File(directory, SNAPSHOT_FILE);
+        File tempFile = new File(directory, SNAPSHOT_TEMP_FILE);
+        if (!snapshotFile.exists() && tempFile.exists() && isCompleteSnapshot(tempFile)
+                && !tempFile.renameTo(snapshotFile)) {
+            throw new IOException("Cannot restore " + snapshotFile + " from " + tempFile);
+        }
+        tempFile.delete();
+
+        byte[] snapshot = null;
+        generation = 0;
+        if (snapshotFile.exists()) {
+            ArrayList<byte[]> records = RecordFile.readAll(snapshotFile);
+            if (records.size() != 2) {
+                throw new IOException("Snapshot " + snapshotFile + " is corrupt");
+            }
+            DataInputStream header = new DataInputStream(new ByteArrayInputStream(records.get(0)));
+            if (header.readInt() != SNAPSHOT_MAGIC || header.readInt() != SNAPSHOT_VERSION) {
+                throw new IOException("Snapshot " + snapshotFile + " has an unknown format");
+            }
+            generation = header.readLong();
+            snapshot = records.get(1);
+        }
+
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                String name = file.getName();
+                if (name.startsWith(JOURNAL_PREFIX) && name.endsWith(JOURNAL_SUFFIX) && !file.equals(journalFile(generation))) {
+                    file.delete();
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Whether a snapshot file was written to the end: both records are intact and the header is one this version reads.
+     */
+    private static boolean isCompleteSnapshot(File file) throws IOException {
+        ArrayList<byte[]> records = RecordFile.readAll(file);
+        if (records.size() != 2) {
+            return false;
+        }
+        DataInputStream header = new DataInputStream(new ByteArrayInputStream(records.get(0)));
+        return header.readInt() == SNAPSHOT_MAGIC && header.readInt() == SNAPSHOT_VERSION;
+    }
+
+    /**
+     * Reads the records written since the snapshot returned by {@link #open()}. A torn last record is dropped.
+     */
+    public ArrayList<byte[]> readTail() throws IOException {
+        return RecordFile.readAll(journalFile(generation));
+    }
+
+    /**
+     * Opens the current journal for appending and starts the writer thread.
+     */
+    public void start() throws IOException {
+        openJournal();
+        writerThread = new Thread(new Runnable() {
+            public void run() {
+                writeLoop();
+            }
+        }, "journal-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Queues a record. Returns immediately; the record reaches the disk with the writer thread's next batch.
+     */
+    public void append(byte[] record) {
+        enqueue(new Entry(Entry.Kind.APPEND, null, record));
+    }
+
+    /**
+     * Queues a record for a shard. Shards are not part of snapshots; their files only ever grow until deleted.
+     */
+    public void appendToShard(String shard, byte[] record) {
+        enqueue(new Entry(Entry.Kind.SHARD_APPEND, shard, record));
+    }
+
+    /**
+     * Queues the removal of a shard file.
+     */
+    public void deleteShard(String shard) {
+        enqueue(new Entry(Entry.Kind.SHARD_DELETE, shard, null));
+    }
+
+    /**
+     * Reads every intact record of a shard, including everything queued for it before the call. Once the writer thread
+     * has started the read is done by that thread, between batches, and the caller waits for it.
+     */
+    public ArrayList<byte[]> readShard(String shard) throws IOException {
+        if (writerThread == null) {
+            return RecordFile.readAll(shardFile(shard));
+        }
+        Entry entry = new Entry(Entry.Kind.SHARD_READ, shard, null);
+        enqueue(entry);
+        await(entry);
+        throwIfFailed();
+        if (entry.readFailure != null) {
+            throw entry.readFailure;
+        }
+        return entry.records;
+    }
+
+    /**
+     * Queues a snapshot that covers every record appended before it. Once it is on disk the journal starts over.
+     */
+    public void checkpoint(byte[] snapshot) {
+        enqueue(new Entry(Entry.Kind.CHECKPOINT, null, snapshot));
+    }
+
+    /**
+     * The error that made the writer thread give up, or null while everything queued is being written. Once a batch
+     * has failed nothing queued after it is written either, so the journal never has a gap; the caller has to stop
+     * relying on it.
+     */
+    public IOException getFailure() {
+        return failure;
+    }
+
+    /**
+     * Blocks until everything queued so far has been written and synced.
+     */
+    public void flush() throws IOException {
+        Entry entry = new Entry(Entry.Kind.FLUSH, null, null);
+        enqueue(entry);
+        await(entry);
+        throwIfFailed();
+    }
+
+    /**
+     * Writes everything still queued and stops the writer thread.
+     */
+    public void close() throws IOException {
+        if (writerThread == null) {
+            return;
+        }
+        Entry entry = new Entry(Entry.Kind.CLOSE, null, null);
+        enqueue(entry);
+        await(entry);
+        writerThread = null;
+        throwIfFailed();
+    }
+
+    private void enqueue(Entry entry) {
+        queue.add(entry);
+    }
+
+    private void writeLoop() {
+        ArrayList<Entry> batch = new ArrayList<Entry>();
+        boolean running = true;
+        while (running) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                break;
+            }
+            queue.drainTo(batch);
+            try {
+                for (Entry entry : batch) {
+                    if (failure != null) {
+                        // Writing on after a lost batch would leave a gap in the journal; only stop when asked to.
+                        if (entry.kind == Entry.Kind.CLOSE) {
+                            running = false;
+                        }
+                        continue;
+                    }
+                    switch (entry.kind) {
+                        case APPEND:
+                            RecordFile.write(journalOut, entry.data);
+                            uncommitted = true;
+                            break;
+                        case SHARD_APPEND: {
+                            ShardFile shard = openShards.get(entry.shard);
+                            if (shard == null) {
+                                shard = new ShardFile(shardFile(entry.shard));
+                                openShards.put(entry.shard, shard);
+                            }
+                            RecordFile.write(shard.out, entry.data);
+                            break;
+                        }
+                        case SHARD_DELETE: {
+                            ShardFile shard = openShards.remove(entry.shard);
+                            if (shard != null) {
+                                shard.out.close();
+                            }
+                            shardFile(entry.shard).delete();
+                            break;
+                        }
+                        case SHARD_READ:
+                            commit(); // Appends earlier in the batch are read too.
+                            try {
+                                entry.records = RecordFile.readAll(shardFile(entry.shard));
+                            } catch (IOException e) {
+                                // Only this read failed; the journal can go on.
+                                entry.readFailure = e;
+                            }
+                            break;
+                        case CHECKPOINT:
+                            commit();
+                            writeSnapshot(entry.data);
+                            break;
+                        case CLOSE:
+                            commit();
+                            journalOut.close();
+                            running = false;
+                            break;
+                        default:
+                            break;
+                    }
+                }
+                commit();
+            } catch (IOException e) {
+                failure = e;
+                closeShards();
+                closeQuietly();
+                for (Entry entry : batch) {
+                    if (entry.kind == Entry.Kind.CLOSE) {
+                        running = false;
+                    }
+                }
+            }
+            for (Entry entry : batch) {
+                if (entry.done != null) {
+                    entry.done.countDown();
+                }
+            }
+            batch.clear();
+        }
+    }
+
+    /**
+     * Flushes and syncs the current batch. Shards touched by the batch are closed again, since a class of students
+     * would otherwise hold a file open each.
+     */
+    private void commit() throws IOException {
+        if (uncommitted) {
+            journalOut.flush();
+            journalStream.getFD().sync();
+            uncommitted = false;
+        }
+        try {
+            for (ShardFile shard : openShards.values()) {
+                shard.out.flush();
+                shard.stream.getFD().sync();
+            }
+        } finally {
+            closeShards();
+        }
+    }
+
+    /**
+     * Closes the journal file after a failure, dropping anything still buffered.
+     */
+    private void closeQuietly() {
+        try {
+            journalStream.close();
+        } catch (IOException e) {
+            // Already failing; the first error is the one reported.
+        }
+    }
+
+    private void closeShards() {
+        for (ShardFile shard : openShards.values()) {
+            try {
+                shard.out.close();
+            } catch (IOException e) {
+                // Already failing; the first error is the one reported.
+            }
+        }
+        openShards.clear();
+    }
+
+    /**
+     * Writes the snapshot of the next generation beside the old one, swaps it in and starts a fresh journal.
+     * A crash at any point leaves the old snapshot with its journal, the new snapshot, or, where the rename needs the
+     * old snapshot deleted first, the new snapshot complete in {@code snapshot.tmp}, which {@link #open()} renames in.
+     */
+    private void writeSnapshot(byte[] payload) throws IOException {
+        long nextGeneration = generation + 1;
+        ByteArrayOutputStream headerBytes = new ByteArrayOutputStream();
+        DataOutputStream header = new DataOutputStream(headerBytes);
+        header.writeInt(SNAPSHOT_MAGIC);
+        header.writeInt(SNAPSHOT_VERSION);
+        header.writeLong(nextGeneration);
+
+        File temp = new File(directory, SNAPSHOT_TEMP_FILE);
+        FileOutputStream file = new FileOutputStream(temp);
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file));
+        try {
+            RecordFile.write(out, headerBytes.toByteArray());
+            RecordFile.write(out, payload);
+            out.flush();
+            file.getFD().sync();
+        } finally {
+            out.close();
+        }
+        File snapshotFile = new File(directory, SNAPSHOT_FILE);
+        if (!temp.renameTo(snapshotFile)) {
+            // Some platforms will not rename over an existing file.
+            snapshotFile.delete();
+            if (!temp.renameTo(snapshotFile)) {
+                throw new IOException("Cannot replace " + snapshotFile);
+            }
+        }
+
+        journalOut.close();
+        File oldJournal = journalFile(generation);
+        generation = nextGeneration;
+        openJournal();
+        oldJournal.delete();
+    }
+
+    private void openJournal() throws IOException {
+        journalStream = new FileOutputStream(journalFile(generation), true);
+        journalOut = new DataOutputStream(new BufferedOutputStream(journalStream));
+    }
+
+    private File journalFile(long generation) {
+        return new File(directory, JOURNAL_PREFIX + generation + JOURNAL_SUFFIX);
+    }
+
+    private File shardFile(String shard) {
+        return new File(shardDirectory, shard + JOURNAL_SUFFIX);
+    }
+
+    private void await(Entry entry) throws IOException {
+        try {
+            entry.done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the journal");
+        }
+    }
+
+    private void throwIfFailed() throws IOException {
+        IOException e = failure;
+        if (e != null) {
+            throw e;
+        }
+    }
+
+    /**
+     * A unit of work for the writer thread.
+     */
+    private static class Entry {
+        enum Kind {
+            APPEND, SHARD_APPEND, SHARD_DELETE, SHARD_READ, CHECKPOINT, FLUSH, CLOSE
+        }
+
+        final Kind kind;
+        final String shard;
+        final byte[] data;
+        final CountDownLatch done;
+        // Set by the writer thread for SHARD_READ before done is counted down.
+        ArrayList<byte[]> records;
+        IOException readFailure;
+
+        Entry(Kind kind, String shard, byte[] data) {
+            this.kind = kind;
+            this.shard = shard;
+            this.data = data;
+            boolean awaited = kind == Kind.FLUSH || kind == Kind.CLOSE || kind == Kind.SHARD_READ;
+            this.done = awaited ? new CountDownLatch(1) : null;
+        }
+    }
+
+    /**
+     * A shard file opened for appending during one batch.
+     */
+    private static class ShardFile {
+        final FileOutputStream stream;
+        final DataOutputStream out;
+
+        ShardFile(File file) throws IOException {
+            stream = new FileOutputStream(file, true);
+            out = new DataOutputStream(new BufferedOutputStream(stream));
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.spelling.model.storage;
+
+import java.io.BufferedInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.zip.CRC32;
+
+/**
+ * Framing for append-only record files. Each record is written as its payload length, a CRC32 of the payload and
+ * then the payload itself, so a record that was only partly written before a crash can be detected on the next read.
+ */
+public class RecordFile {
+    /**
+     * Anything larger than this is treated as a corrupt length field rather than a real record.
+     */
+    public static final int MAX_RECORD_LENGTH = 16 * 1024 * 1024;
+
+    private RecordFile() {
+    }
+
+    /**
+     * Writes one framed record. The caller is responsible for flushing and syncing the stream.
+     */
+    public static void write(DataOutputStream out, byte[] payload) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(payload, 0, payload.length);
+        out.writeInt(payload.length);
+        out.writeInt((int) crc.getValue());
+        out.write(payload);
+    }
+
+    /**
+     * Reads every intact record of a file. Reading stops at the first record that is incomplete or fails its
+     * checksum, and the file is truncated there so later appends do not land behind a torn record. Only call this
+     * where nothing else is appending to the file: a record still being written looks torn, and cutting it off under
+     * the writer would corrupt the file. A missing file reads as empty.
+     */
+    public static ArrayList<byte[]> readAll(File file) throws IOException {
+        ArrayList<byte[]> records = new ArrayList<byte[]>();
+        if (!file.exists()) {
+            return records;
+        }
+        long goodLength = 0;
+        long fileLength = file.length();
+        InputStream in = new BufferedInputStream(new FileInputStream(file));
+        try {
+            byte[] header = new byte[8];
+            CRC32 crc = new CRC32();
+            while (readFully(in, header)) {
+                int length = readInt(header, 0);
+                int checksum = readInt(header, 4);
+                if (length < 0 || length > MAX_RECORD_LENGTH || goodLength + 8 + length > fileLength) {
+                    break;
+                }
+                byte[] payload = new byte[length];
+                if (!readFully(in, payload)) {
+                    break;
+                }
+                crc.reset();
+                crc.update(payload, 0, length);
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+                records.add(payload);
+                goodLength += 8 + length;
+            }
+        } finally {
+            in.close();
+        }
+        if (goodLength < fileLength) {
+            truncate(file, goodLength);
+        }
+        return records;
+    }
+
+    private static void truncate(File file, long length) throws IOException {
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        try {
+            raf.setLength(length);
+            raf.getFD().sync();
+        } finally {
+            raf.close();
+        }
+    }
+
+    /**
+     * Fills the buffer, returning false if the stream ended first.
+     */
+    private static boolean readFully(InputStream in, byte[] buffer) throws IOException {
+        int offset = 0;
+        while (offset < buffer.length) {
+            int read = in.read(buffer, offset, buffer.length - offset);
+            if (read < 0) {
+                return false;
+            }
+            offset += read;
+        }
+        return true;
+    }
+
+    private static int readInt(byte[] bytes, int offset) {
+        return ((bytes[offset] & 0xff) << 24) | ((bytes[offset + 1] & 0xff) << 16)
+                | ((bytes[offset + 2] & 0xff) << 8) | (bytes[offset + 3] & 0xff);
+    }
+}
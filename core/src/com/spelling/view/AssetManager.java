@@ -2,11 +2,16 @@ package com.spelling.view;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.audio.Music;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator;
+import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.scenes.scene2d.ui.Button.ButtonStyle;
 import com.badlogic.gdx.scenes.scene2d.ui.ImageButton.ImageButtonStyle;
 import com.badlogic.gdx.scenes.scene2d.ui.Label.LabelStyle;
@@ -16,6 +21,14 @@ import com.badlogic.gdx.scenes.scene2d.ui.TextField.TextFieldStyle;
 import com.badlogic.gdx.scenes.scene2d.utils.Drawable;
 import com.badlogic.gdx.scenes.scene2d.utils.TextureRegionDrawable;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.HashMap;
+import java.util.HashSet;
+
 /**
  * Stores all of the assets for use with libGDX.
  */
@@ -35,33 +48,238 @@ public class AssetManager {
     public static ImageButtonStyle imageButtonStyle;
     public static ImageButtonStyle backButtonStyle;
 
+    private static final String SKIN_FILE = "skins/clean-crispy/clean-crispy-ui.json";
+    private static final String FONT_FILE = "fonts/open-sans/OpenSans-Semibold.ttf";
+    private static final int UI_PAGE_SIZE = 1024;
+    private static final String SKIN_PAGE = "skin-page-";
+
+    private static TextureAtlas.TextureAtlasData skinAtlasData;
+    // Kept after upload, as they own the generator and pages of glyphs rasterized later.
+    private static BakedFont bakedFont64;
+    private static BakedFont bakedFont32;
+    // The skin and both fonts packed together, so a button and its text are drawn without switching textures.
+    private static PixmapPacker uiPacker;
+
+    private static final HashMap<String, TextureRegion> regions = new HashMap<String, TextureRegion>();
+    private static final HashMap<String, Drawable> drawables = new HashMap<String, Drawable>();
+    private static final HashSet<String> missingNames = new HashSet<String>();
+    private static TextureRegion missingRegion;
+    private static Drawable missingDrawable;
+    private static int missingLookups;
+
+    /**
+     * Adds the stages that initialize all of the asset styles for libGDX. The images atlas must already be loaded.
+     */
+    public static void addStartupStages(StartupLoader loader) {
+        loader.addBackground("Parse skin atlas", new StartupLoader.Stage() {
+            @Override
+            public void run() {
+                FileHandle skinFile = Gdx.files.internal(SKIN_FILE);
+                FileHandle atlasFile = skinFile.sibling(skinFile.nameWithoutExtension() + ".atlas");
+                skinAtlasData = new TextureAtlas.TextureAtlasData(atlasFile, atlasFile.parent(), false);
+            }
+        });
+        loader.addBackground("Load fonts", new StartupLoader.Stage() {
+            @Override
+            public void run() {
+                loadFonts();
+            }
+        });
+        loader.addBackground("Pack UI page", new StartupLoader.Stage() {
+            @Override
+            public void run() {
+                packUiPage();
+            }
+        });
+        loader.addRenderThread("Upload UI page", new StartupLoader.Stage() {
+            @Override
+            public void run() {
+                TextureAtlas.TextureAtlasData.Page skinPage = skinAtlasData.getPages().first();
+                uiPacker.updatePageTextures(skinPage.minFilter, skinPage.magFilter, false);
+            }
+        });
+        loader.addRenderThread("Load skin", new StartupLoader.Stage() {
+            @Override
+            public void run() {
+                loadSkin();
+            }
+        });
+        loader.addRenderThread("Upload 64px font", new StartupLoader.Stage() {
+            @Override
+            public void run() {
+                font64 = bakedFont64.upload();
+            }
+        });
+        loader.addRenderThread("Upload 32px font", new StartupLoader.Stage() {
+            @Override
+            public void run() {
+                font32 = bakedFont32.upload();
+            }
+        });
+        loader.addRenderThread("Create styles", new StartupLoader.Stage() {
+            @Override
+            public void run() {
+                createStyles();
+            }
+        });
+    }
+
     /**
-     * Initialize all of the asset styles for libGDX.
+     * Loads the images atlas. Done before anything else, as the splash screen is in it.
      */
-    public static void init() {
+    public static void loadAtlas() {
         atlas = new TextureAtlas(Gdx.files.internal("packed-images/pack.atlas"));
-        defaultSkin = new Skin(Gdx.files.internal("skins/clean-crispy/clean-crispy-ui.json"));
+        regions.clear();
+        drawables.clear();
+        // The first region with a name wins, as with findRegion.
+        for (TextureAtlas.AtlasRegion region : atlas.getRegions()) {
+            if (!regions.containsKey(region.name)) {
+                regions.put(region.name, region);
+                drawables.put(region.name, new TextureRegionDrawable(region));
+            }
+        }
+        // Made with the atlas, so it belongs to the same GL context and is disposed with it.
+        Pixmap pixmap = new Pixmap(1, 1, Pixmap.Format.RGBA8888);
+        pixmap.setColor(Color.MAGENTA);
+        pixmap.fill();
+        missingRegion = new TextureRegion(new Texture(pixmap));
+        missingDrawable = new TextureRegionDrawable(missingRegion);
+        pixmap.dispose();
+    }
+
+    /**
+     * Disposes the images atlas, the placeholder, the fonts and the shared UI pages that hold the skin and the fonts,
+     * when the game closes. loadAtlas and the startup stages load them again for the next game.
+     */
+    public static void dispose() {
+        disposeFonts();
+        if (atlas != null) {
+            atlas.dispose();
+            atlas = null;
+        }
+        if (missingRegion != null) {
+            missingRegion.getTexture().dispose();
+            missingRegion = null;
+            missingDrawable = null;
+        }
+        if (uiPacker != null) {
+            uiPacker.dispose();
+            uiPacker = null;
+        }
+        regions.clear();
+        drawables.clear();
+        missingNames.clear();
+    }
+
+    private static void disposeFonts() {
+        if (font64 != null) {
+            font64.dispose();
+            font64 = null;
+        }
+        if (font32 != null) {
+            font32.dispose();
+            font32 = null;
+        }
+        if (bakedFont64 != null) {
+            bakedFont64.dispose();
+            bakedFont64 = null;
+        }
+        if (bakedFont32 != null) {
+            bakedFont32.dispose();
+            bakedFont32 = null;
+        }
+    }
+
+    /**
+     * Reads the fonts from the font cache, baking them on the first launch or when the font changes. Only the default
+     * characters are baked; a language's other letters are added by loadGlyphs when it is played.
+     */
+    private static void loadFonts() {
+        String characters = FreeTypeFontGenerator.DEFAULT_CHARS;
+        FileHandle fontFile = Gdx.files.internal(FONT_FILE);
+        FileHandle cacheRoot = Gdx.files.local("font-cache");
+        bakedFont64 = BakedFont.load(fontFile, fontParameter(64, characters), cacheRoot);
+        bakedFont32 = BakedFont.load(fontFile, fontParameter(32, characters), cacheRoot);
+    }
+
+    /**
+     * Makes sure both fonts have the glyphs of some text, such as the letters of a language when it is played.
+     * Glyphs outside the default characters baked at startup are rasterized here rather than in the middle of a
+     * frame, so languages that are never played cost nothing.
+     */
+    public static void loadGlyphs(String[] texts) {
+        for (String text : texts) {
+            for (int i = 0; i < text.length(); i++) {
+                font64.getData().getGlyph(text.charAt(i));
+                font32.getData().getGlyph(text.charAt(i));
+            }
+        }
+    }
+
+    private static FreeTypeFontGenerator.FreeTypeFontParameter fontParameter(int size, String characters) {
+        FreeTypeFontGenerator.FreeTypeFontParameter parameter = new FreeTypeFontGenerator.FreeTypeFontParameter();
+        parameter.hinting = FreeTypeFontGenerator.Hinting.Full;
+        parameter.color = Color.BLACK;
+        parameter.size = size;
+        parameter.characters = characters;
+        return parameter;
+    }
+
+    /**
+     * Packs the skin's pages and the glyphs of both fonts into shared pages, on the startup worker thread. The game
+     * screen then draws its letter keys, their text and the buttons from one texture, and only switches to the
+     * images atlas for the background and pictures.
+     */
+    private static void packUiPage() {
+        uiPacker = new PixmapPacker(UI_PAGE_SIZE, UI_PAGE_SIZE, Pixmap.Format.RGBA8888, 2, false);
+        for (int i = 0; i < skinAtlasData.getPages().size; i++) {
+            Pixmap page = new Pixmap(skinAtlasData.getPages().get(i).textureFile);
+            try {
+                uiPacker.pack(SKIN_PAGE + i, page);
+            } finally {
+                page.dispose();
+            }
+        }
+        bakedFont64.pack(uiPacker);
+        bakedFont32.pack(uiPacker);
+        Gdx.app.debug("AssetManager", "UI packed into " + uiPacker.getPages().size + " page(s)");
+    }
+
+    /**
+     * Makes the skin from the shared UI pages instead of loading its own texture, moving each region to where its page
+     * was packed.
+     */
+    private static void loadSkin() {
+        for (int i = 0; i < skinAtlasData.getPages().size; i++) {
+            TextureAtlas.TextureAtlasData.Page page = skinAtlasData.getPages().get(i);
+            Rectangle rect = uiPacker.getRect(SKIN_PAGE + i);
+            page.texture = uiPacker.getPage(SKIN_PAGE + i).getTexture();
+            for (TextureAtlas.TextureAtlasData.Region region : skinAtlasData.getRegions()) {
+                if (region.page == page) {
+                    region.left += (int) rect.x;
+                    region.top += (int) rect.y;
+                }
+            }
+        }
+        defaultSkin = new Skin(new TextureAtlas(skinAtlasData));
+        defaultSkin.load(Gdx.files.internal(SKIN_FILE));
+        skinAtlasData = null;
+    }
+
+    private static void createStyles() {
         defaultStyle = new ButtonStyle();
         defaultStyle.up = AssetManager.defaultSkin.getDrawable("button-c");
         defaultStyle.down = AssetManager.defaultSkin.getDrawable("button-pressed-over-c");
         defaultStyle.checked = AssetManager.defaultSkin.getDrawable("button-pressed-over-c");
         defaultStyle.over = AssetManager.defaultSkin.getDrawable("button-over-c");
         backPlate = AssetManager.defaultSkin.getDrawable("button-c-clear");
-        // Fonts
-        FreeTypeFontGenerator generator = new FreeTypeFontGenerator(Gdx.files.internal("fonts/open-sans/OpenSans-Semibold.ttf"));
-        FreeTypeFontGenerator.FreeTypeFontParameter parameter = new FreeTypeFontGenerator.FreeTypeFontParameter();
-        parameter.hinting = FreeTypeFontGenerator.Hinting.Full;
-        parameter.color = Color.BLACK;
-        parameter.size = 64;
-        font64 = generator.generateFont(parameter);
-        parameter.size = 32;
-        font32 = generator.generateFont(parameter);
         // Labels
         labelStyle64Solid = new LabelStyle(font64, Color.BLACK);
         labelStyle64Clear = new LabelStyle(font64, Color.BLACK);
         labelStyle64Clear.background = AssetManager.backPlate;
         // Text Fields
         textFieldStyle64 = new TextFieldStyle(font64, Color.BLACK, defaultStyle.down, defaultStyle.down, defaultStyle.up);
+        textFieldStyle64.messageFontColor = Color.GRAY;
         // Text Buttons
         textButtonStyle64Checked = new TextButtonStyle(defaultStyle.up, defaultStyle.down, defaultStyle.checked, font64);
         textButtonStyle64 = new TextButtonStyle(defaultStyle.up, defaultStyle.down, defaultStyle.over, font64);
@@ -69,14 +287,48 @@ public class AssetManager {
         // Image Buttons
         imageButtonStyle = new ImageButtonStyle(defaultStyle);
         backButtonStyle = new ImageButtonStyle(defaultStyle);
-        backButtonStyle.imageUp = new TextureRegionDrawable(getTextureRegion("BackButton"));
+        backButtonStyle.imageUp = getDrawable("BackButton");
     }
 
     /**
      * Retrieve a texture region from the texture atlas by the file name.
+     * The region is shared by every caller and must not be changed; to flip it or move it, change a
+     * {@code new TextureRegion(region)} instead. Missing regions are drawn as a placeholder.
      */
     public static TextureRegion getTextureRegion(String fileName) {
-        return new TextureRegion(AssetManager.atlas.findRegion(fileName));
+        TextureRegion region = regions.get(fileName);
+        if (region == null) {
+            missing(fileName);
+            return missingRegion;
+        }
+        return region;
+    }
+
+    /**
+     * Retrieve a drawable of a texture region from the texture atlas by the file name.
+     * The drawable is shared by every caller and must not be changed. Missing regions are drawn as a placeholder.
+     */
+    public static Drawable getDrawable(String fileName) {
+        Drawable drawable = drawables.get(fileName);
+        if (drawable == null) {
+            missing(fileName);
+            return missingDrawable;
+        }
+        return drawable;
+    }
+
+    /**
+     * How many times a region that is not in the atlas was asked for.
+     */
+    public static int getMissingLookups() {
+        return missingLookups;
+    }
+
+    private static void missing(String fileName) {
+        missingLookups++;
+        if (missingNames.add(fileName)) {
+            Gdx.app.error("AssetManager", "No region " + fileName + " in the atlas, using a placeholder");
+        }
     }
 
     /**
@@ -88,4 +340,27 @@ public class AssetManager {
         music.setVolume(0.0f);
         return music;
     }
+
+    /**
+     * Memory-maps an internal file for reading. Files that are not plain files on disk, such as assets inside an
+     * Android APK, are read into a read-only buffer instead.
+     */
+    public static ByteBuffer mapFile(String fileName) {
+        FileHandle fileHandle = Gdx.files.internal(fileName);
+        File file = fileHandle.file();
+        if (file.isFile()) {
+            try {
+                RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+                try {
+                    FileChannel channel = randomAccessFile.getChannel();
+                    return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                } finally {
+                    randomAccessFile.close();
+                }
+            } catch (IOException e) {
+                Gdx.app.error("AssetManager", "Could not map " + fileName + ", reading it instead", e);
+            }
+        }
+        return ByteBuffer.wrap(fileHandle.readBytes()).asReadOnlyBuffer();
+    }
 }
@@ -0,0 +1,488 @@
+package com.spelling.view;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.PixmapIO;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFont.BitmapFontData;
+import com.badlogic.gdx.graphics.g2d.BitmapFont.Glyph;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator;
+import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator.FreeTypeFontParameter;
+import com.badlogic.gdx.graphics.glutils.FileTextureData;
+import com.badlogic.gdx.graphics.glutils.PixmapTextureData;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.HashSet;
+import java.util.zip.CRC32;
+
+/**
+ * A FreeType font rasterized once and kept in local storage, so later launches only decode its pages.
+ * <p>
+ * Each font is cached in a folder of its own named after a hash of the TTF file, the size and style of the font and
+ * its characters, so changing any of them bakes the font again. The folder holds the glyph pages as PNG files and a
+ * {@code font.bin} file with the font and glyph metrics, written last so a folder without it is incomplete.
+ * <p>
+ * The glyphs can be packed into a {@link PixmapPacker} shared with other images, so text is drawn from the same
+ * texture as the buttons behind it. Characters outside the baked set, such as in a name a teacher types, are
+ * rasterized the first time they are drawn and packed into extra pages.
+ */
+public class BakedFont {
+    private static final String TAG = "BakedFont";
+    /**
+     * Changing the cache layout must change this, so old caches are not read.
+     */
+    private static final int CACHE_VERSION = 1;
+    private static final int PAGE_SIZE = 1024;
+    private static final int GLYPH_PAGES = 0x10000 / 512; // As in BitmapFontData.
+    private static final String METRICS_FILE = "font.bin";
+
+    private final FileHandle fontFile;
+    private final FreeTypeFontParameter parameter;
+    private final CachedFontData data = new CachedFontData();
+    private final Array<Pixmap> pages = new Array<Pixmap>();
+    private final Array<FileHandle> pageFiles = new Array<FileHandle>();
+    private PixmapPacker sharedPacker;
+    private boolean fromCache;
+
+    private BakedFont(FileHandle fontFile, FreeTypeFontParameter parameter) {
+        this.fontFile = fontFile;
+        this.parameter = parameter;
+    }
+
+    /**
+     * Reads the font from the cache, baking it first if needed. Does not touch OpenGL, so it can run off the render
+     * thread; {@link #upload()} must then be called on the render thread.
+     *
+     * @param parameter  The size, style and characters of the font. Its packer is not used.
+     * @param cacheRoot  The folder holding the cached fonts.
+     */
+    public static BakedFont load(FileHandle fontFile, FreeTypeFontParameter parameter, FileHandle cacheRoot) {
+        BakedFont font = new BakedFont(fontFile, parameter);
+        String prefix = fontFile.nameWithoutExtension() + "-" + parameter.size + "-";
+        FileHandle folder = cacheRoot.child(prefix + Long.toHexString(font.hash()));
+        try {
+            if (folder.child(METRICS_FILE).exists()) {
+                font.read(folder);
+                font.fromCache = true;
+                return font;
+            }
+        } catch (IOException e) {
+            Gdx.app.error(TAG, "Cached font " + folder.name() + " could not be read, baking it again", e);
+            font.disposePages();
+            font = new BakedFont(fontFile, parameter);
+        } catch (GdxRuntimeException e) {
+            Gdx.app.error(TAG, "Cached font " + folder.name() + " could not be read, baking it again", e);
+            font.disposePages();
+            font = new BakedFont(fontFile, parameter);
+        }
+
+        byte[] metrics = font.bake();
+        try {
+            for (FileHandle stale : cacheRoot.list()) {
+                if (stale.name().startsWith(prefix)) {
+                    stale.deleteDirectory();
+                }
+            }
+            font.write(folder, metrics);
+        } catch (GdxRuntimeException e) {
+            Gdx.app.error(TAG, "Font " + folder.name() + " could not be cached", e);
+            font.pageFiles.clear();
+        }
+        return font;
+    }
+
+    /**
+     * Whether the font was read from the cache rather than baked.
+     */
+    public boolean isFromCache() {
+        return fromCache;
+    }
+
+    /**
+     * Moves the glyphs from the font's own pages into a packer shared with other images, one glyph at a time so
+     * they take only the room they need. Does not touch OpenGL. The packer's page textures must be updated before
+     * {@link #upload()}, and the packer is not disposed while the font is in use.
+     */
+    public void pack(PixmapPacker packer) {
+        String prefix = fontFile.nameWithoutExtension() + "-" + parameter.size + "-";
+        for (Glyph[] glyphPage : data.glyphs) {
+            if (glyphPage == null) {
+                continue;
+            }
+            for (Glyph glyph : glyphPage) {
+                if (glyph == null) {
+                    continue;
+                }
+                if (glyph.width == 0 || glyph.height == 0) {
+                    glyph.page = 0; // Nothing is drawn, but the page must exist.
+                    continue;
+                }
+                Pixmap page = pages.get(glyph.page);
+                Pixmap image = new Pixmap(glyph.width, glyph.height, page.getFormat());
+                image.setBlending(Pixmap.Blending.None);
+                image.drawPixmap(page, 0, 0, glyph.srcX, glyph.srcY, glyph.width, glyph.height);
+                String name = prefix + glyph.id;
+                Rectangle rect = packer.pack(name, image);
+                image.dispose();
+                glyph.page = packer.getPageIndex(name);
+                glyph.srcX = (int) rect.x;
+                glyph.srcY = (int) rect.y;
+            }
+        }
+        disposePages();
+        sharedPacker = packer;
+    }
+
+    /**
+     * Makes textures of the pages and the font from them, or takes the textures of the shared packer the glyphs were
+     * packed into. Call once, on the render thread.
+     */
+    public BitmapFont upload() {
+        Array<TextureRegion> regions = new Array<TextureRegion>();
+        if (sharedPacker != null) {
+            for (PixmapPacker.Page page : sharedPacker.getPages()) {
+                regions.add(new TextureRegion(page.getTexture()));
+            }
+        }
+        for (int i = 0; i < pages.size; i++) {
+            Pixmap page = pages.get(i);
+            Texture texture;
+            if (i < pageFiles.size) {
+                // Reloaded from the PNG if the GL context is lost; the pixmap is disposed after the upload.
+                texture = new Texture(new FileTextureData(pageFiles.get(i), page, page.getFormat(), false));
+            } else {
+                texture = new Texture(new PixmapTextureData(page, page.getFormat(), false, false, true));
+            }
+            texture.setFilter(parameter.minFilter, parameter.magFilter);
+            regions.add(new TextureRegion(texture));
+        }
+        pages.clear();
+        BitmapFont font = new BitmapFont(data, regions, true);
+        font.setOwnsTexture(sharedPacker == null);
+        data.fallback = new FallbackGlyphs(font);
+        return font;
+    }
+
+    /**
+     * Frees the generator and pages of glyphs rasterized outside the baked set, and any pages not uploaded yet. The
+     * font made by {@link #upload()} cannot draw new glyphs afterwards, so dispose it first.
+     */
+    public void dispose() {
+        if (data.fallback != null) {
+            data.fallback.dispose();
+            data.fallback = null;
+        }
+        disposePages();
+    }
+
+    private long hash() {
+        CRC32 crc = new CRC32();
+        crc.update(fontFile.readBytes());
+        String style = CACHE_VERSION + "," + parameter.size + "," + parameter.hinting + "," + parameter.color + ","
+                + parameter.kerning + "," + parameter.characters;
+        crc.update(style.getBytes(Charset.forName("UTF-8")));
+        return crc.getValue();
+    }
+
+    /**
+     * Rasterizes the font into pixmaps.
+     *
+     * @return The metrics, as they are written to the cache.
+     */
+    private byte[] bake() {
+        PixmapPacker packer = newPacker(parameter);
+        FreeTypeFontGenerator generator = new FreeTypeFontGenerator(fontFile);
+        byte[] metrics;
+        try {
+            FreeTypeFontParameter bakeParameter = copy(parameter);
+            bakeParameter.packer = packer;
+            metrics = writeMetrics(generator.generateData(bakeParameter));
+        } finally {
+            generator.dispose();
+        }
+        for (PixmapPacker.Page page : packer.getPages()) {
+            pages.add(page.getPixmap());
+        }
+        // The metrics are read back so a baked font is set up exactly like a cached one.
+        try {
+            readMetrics(metrics);
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // Cannot happen when reading from memory.
+        }
+        return metrics;
+    }
+
+    private void write(FileHandle folder, byte[] metrics) {
+        folder.mkdirs();
+        for (int i = 0; i < pages.size; i++) {
+            FileHandle pageFile = folder.child("page" + i + ".png");
+            PixmapIO.writePNG(pageFile, pages.get(i));
+            pageFiles.add(pageFile);
+        }
+        folder.child(METRICS_FILE).writeBytes(metrics, false);
+    }
+
+    private void read(FileHandle folder) throws IOException {
+        int pageCount = readMetrics(folder.child(METRICS_FILE).readBytes());
+        for (int i = 0; i < pageCount; i++) {
+            FileHandle pageFile = folder.child("page" + i + ".png");
+            pages.add(new Pixmap(pageFile));
+            pageFiles.add(pageFile);
+        }
+    }
+
+    private void disposePages() {
+        for (Pixmap page : pages) {
+            page.dispose();
+        }
+        pages.clear();
+        pageFiles.clear();
+    }
+
+    private byte[] writeMetrics(BitmapFontData source) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        try {
+            int pageCount = 0;
+            int glyphCount = 0;
+            for (Glyph[] glyphPage : source.glyphs) {
+                if (glyphPage != null) {
+                    for (Glyph glyph : glyphPage) {
+                        if (glyph != null) {
+                            glyphCount++;
+                            pageCount = Math.max(pageCount, glyph.page + 1);
+                        }
+                    }
+                }
+            }
+            out.writeInt(pageCount);
+            float[] fields = {source.padTop, source.padRight, source.padBottom, source.padLeft, source.lineHeight,
+                    source.capHeight, source.ascent, source.descent, source.down, source.blankLineScale,
+                    source.scaleX, source.scaleY, source.cursorX, source.spaceWidth, source.xHeight};
+            for (float field : fields) {
+                out.writeFloat(field);
+            }
+            out.writeBoolean(source.flipped);
+            out.writeInt(source.missingGlyph == null ? -1 : source.missingGlyph.id);
+            out.writeInt(glyphCount);
+            for (Glyph[] glyphPage : source.glyphs) {
+                if (glyphPage == null) {
+                    continue;
+                }
+                for (Glyph glyph : glyphPage) {
+                    if (glyph == null) {
+                        continue;
+                    }
+                    out.writeInt(glyph.id);
+                    out.writeInt(glyph.page);
+                    out.writeInt(glyph.srcX);
+                    out.writeInt(glyph.srcY);
+                    out.writeInt(glyph.width);
+                    out.writeInt(glyph.height);
+                    out.writeInt(glyph.xoffset);
+                    out.writeInt(glyph.yoffset);
+                    out.writeInt(glyph.xadvance);
+                    out.writeBoolean(glyph.fixedWidth);
+                    writeKerning(out, glyph);
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // Cannot happen when writing to memory.
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeKerning(DataOutputStream out, Glyph glyph) throws IOException {
+        int count = 0;
+        if (glyph.kerning != null) {
+            for (byte[] kerningPage : glyph.kerning) {
+                if (kerningPage != null) {
+                    for (byte amount : kerningPage) {
+                        if (amount != 0) {
+                            count++;
+                        }
+                    }
+                }
+            }
+        }
+        out.writeInt(count);
+        if (count == 0) {
+            return;
+        }
+        for (int page = 0; page < glyph.kerning.length; page++) {
+            byte[] kerningPage = glyph.kerning[page];
+            if (kerningPage == null) {
+                continue;
+            }
+            for (int i = 0; i < kerningPage.length; i++) {
+                if (kerningPage[i] != 0) {
+                    out.writeChar(page * kerningPage.length + i);
+                    out.writeByte(kerningPage[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Fills in the font data.
+     *
+     * @return The number of pages the glyphs are on.
+     */
+    private int readMetrics(byte[] metrics) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(metrics));
+        int pageCount = in.readInt();
+        data.padTop = in.readFloat();
+        data.padRight = in.readFloat();
+        data.padBottom = in.readFloat();
+        data.padLeft = in.readFloat();
+        data.lineHeight = in.readFloat();
+        data.capHeight = in.readFloat();
+        data.ascent = in.readFloat();
+        data.descent = in.readFloat();
+        data.down = in.readFloat();
+        data.blankLineScale = in.readFloat();
+        data.scaleX = in.readFloat();
+        data.scaleY = in.readFloat();
+        data.cursorX = in.readFloat();
+        data.spaceWidth = in.readFloat();
+        data.xHeight = in.readFloat();
+        data.flipped = in.readBoolean();
+        int missingGlyph = in.readInt();
+        int glyphCount = in.readInt();
+        for (int i = 0; i < glyphCount; i++) {
+            Glyph glyph = new Glyph();
+            glyph.id = in.readInt();
+            glyph.page = in.readInt();
+            glyph.srcX = in.readInt();
+            glyph.srcY = in.readInt();
+            glyph.width = in.readInt();
+            glyph.height = in.readInt();
+            glyph.xoffset = in.readInt();
+            glyph.yoffset = in.readInt();
+            glyph.xadvance = in.readInt();
+            glyph.fixedWidth = in.readBoolean();
+            int kerningCount = in.readInt();
+            for (int k = 0; k < kerningCount; k++) {
+                glyph.setKerning(in.readChar(), in.readByte());
+            }
+            if (glyph.id < 0 || glyph.id >= GLYPH_PAGES * 512 || glyph.page < 0 || glyph.page >= pageCount) {
+                throw new IOException("Glyph " + glyph.id + " is corrupt");
+            }
+            data.setGlyph(glyph.id, glyph);
+            if (glyph.id == missingGlyph) {
+                data.missingGlyph = glyph;
+            }
+        }
+        return pageCount;
+    }
+
+    private static PixmapPacker newPacker(FreeTypeFontParameter parameter) {
+        PixmapPacker packer = new PixmapPacker(PAGE_SIZE, PAGE_SIZE, Pixmap.Format.RGBA8888, 1, false);
+        // Same as FreeTypeFontGenerator's own packer, so glyph edges blend towards the font color.
+        packer.setTransparentColor(parameter.color);
+        packer.getTransparentColor().a = 0;
+        return packer;
+    }
+
+    private static FreeTypeFontParameter copy(FreeTypeFontParameter parameter) {
+        FreeTypeFontParameter copy = new FreeTypeFontParameter();
+        copy.size = parameter.size;
+        copy.hinting = parameter.hinting;
+        copy.color = new Color(parameter.color);
+        copy.kerning = parameter.kerning;
+        copy.characters = parameter.characters;
+        copy.minFilter = parameter.minFilter;
+        copy.magFilter = parameter.magFilter;
+        return copy;
+    }
+
+    /**
+     * Font data that asks for glyphs it does not have to be rasterized.
+     */
+    private static class CachedFontData extends BitmapFontData {
+        private FallbackGlyphs fallback;
+
+        @Override
+        public Glyph getGlyph(char ch) {
+            Glyph glyph = super.getGlyph(ch);
+            if (glyph == null && fallback != null) {
+                glyph = fallback.generate(ch);
+            }
+            return glyph;
+        }
+    }
+
+    /**
+     * Rasterizes glyphs outside the baked set into pages of their own, on the render thread as they are drawn.
+     * The generator is only opened when the first such glyph is needed.
+     */
+    private class FallbackGlyphs {
+        private final BitmapFont font;
+        private final int firstPage;
+        private final HashSet<Character> unavailable = new HashSet<Character>();
+        private final Array<TextureRegion> fallbackRegions = new Array<TextureRegion>();
+        private FreeTypeFontGenerator generator;
+        private PixmapPacker packer;
+
+        FallbackGlyphs(BitmapFont font) {
+            this.font = font;
+            this.firstPage = font.getRegions().size;
+        }
+
+        Glyph generate(char ch) {
+            if (Character.isISOControl(ch) || Character.isHighSurrogate(ch) || Character.isLowSurrogate(ch) || unavailable.contains(ch)) {
+                return null;
+            }
+            if (generator == null) {
+                generator = new FreeTypeFontGenerator(fontFile);
+                packer = newPacker(parameter);
+            }
+            FreeTypeFontParameter glyphParameter = copy(parameter);
+            glyphParameter.characters = String.valueOf(ch);
+            glyphParameter.kerning = false;
+            glyphParameter.packer = packer;
+            Glyph glyph = generator.generateData(glyphParameter).getGlyph(ch);
+            if (glyph == null) {
+                unavailable.add(ch);
+                return null;
+            }
+            packer.updateTextureRegions(fallbackRegions, parameter.minFilter, parameter.magFilter, false);
+            Array<TextureRegion> regions = font.getRegions();
+            for (int i = regions.size - firstPage; i < fallbackRegions.size; i++) {
+                regions.add(fallbackRegions.get(i));
+            }
+            glyph.page += firstPage;
+            data.setGlyphRegion(glyph, regions.get(glyph.page));
+            data.setGlyph(ch, glyph);
+            Gdx.app.debug(TAG, "Rasterized '" + ch + "' outside the baked characters of " + fontFile.name()
+                    + " at " + parameter.size + "px");
+            return glyph;
+        }
+
+        /**
+         * Frees the generator and the packer, whose pages hold the textures of the rasterized glyphs.
+         */
+        void dispose() {
+            if (generator != null) {
+                generator.dispose();
+                generator = null;
+                packer.dispose();
+                packer = null;
+            }
+            fallbackRegions.clear();
+        }
+    }
+}
@@ -1,12 +1,21 @@
 package com.spelling.view;
 
+import com.badlogic.gdx.Application;
 import com.badlogic.gdx.Game;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.profiling.GLProfiler;
+import com.badlogic.gdx.utils.TimeUtils;
 import com.badlogic.gdx.utils.viewport.ExtendViewport;
 import com.spelling.model.DataManager;
+import com.spelling.model.WordPack;
+import com.spelling.view.games.SpellingGameScreen;
 import com.spelling.view.screens.LibGDXSplashScreen;
+import com.spelling.viewmodel.Alphabet;
+import com.spelling.viewmodel.ScreenManager;
+
+import java.io.IOException;
 
 /**
  * Used by libGDX to draw everything on the currently set screen.
@@ -20,6 +29,11 @@ public class GdxGame extends Game {
     public ExtendViewport viewport;
     public SpriteBatch batch;
 
+    private StartupLoader loader;
+    private GLProfiler profiler;
+    private long reportMillis;
+    private int reportFrames;
+
     public void create() {
         if (((float) Gdx.app.getGraphics().getWidth() / (float) Gdx.app.getGraphics().getHeight()) == (4f / 3f)) {
             isResolution43 = true;
@@ -31,18 +45,113 @@ public class GdxGame extends Game {
         camera.setToOrtho(false, virtualWidth, virtualHeight);
         viewport = new ExtendViewport(virtualWidth, virtualHeight, virtualWidth, 1440, camera);
         batch = new SpriteBatch();
+        if (Gdx.app.getLogLevel() >= Application.LOG_DEBUG) {
+            profiler = new GLProfiler(Gdx.graphics);
+            profiler.enable();
+            reportMillis = TimeUtils.millis();
+        }
 
-        AssetManager.init();
-        DataManager.populate();
+        AssetManager.loadAtlas();
+        loader = new StartupLoader();
+        loader.addBackground("Open word pack", new StartupLoader.Stage() {
+            @Override
+            public void run() {
+                openWordPack();
+            }
+        });
+        AssetManager.addStartupStages(loader);
+        loader.addBackground("Load saved data", new StartupLoader.Stage() {
+            @Override
+            public void run() {
+                loadData();
+            }
+        });
+        loader.start();
+
+        setScreen(new LibGDXSplashScreen(GdxGame.this, loader));
+    }
+
+    /**
+     * Switches between drawing every frame and drawing only when something changes. When drawing on demand, the
+     * backend draws a frame for input, and running actions and scrolling ask for frames of their own, so still
+     * screens use no GPU time. Also asks for a frame so the switch is drawn straight away.
+     */
+    public static void setRenderOnDemand(boolean onDemand) {
+        Gdx.graphics.setContinuousRendering(!onDemand);
+        Gdx.graphics.requestRendering();
+    }
+
+    /**
+     * Opens the word pack, which also lists the languages. Runs on the startup worker thread.
+     */
+    private void openWordPack() {
+        try {
+            DataManager.openWordPack(WordPack.open(AssetManager.mapFile("words/words.pack")));
+        } catch (IOException e) {
+            Gdx.app.error("GdxGame", "Word pack could not be opened", e);
+        }
+    }
 
-        setScreen(new LibGDXSplashScreen(GdxGame.this));
+    /**
+     * Opens the saved data. Runs on the startup worker thread.
+     */
+    private void loadData() {
+        try {
+            DataManager.open(Gdx.files.local("data").file());
+        } catch (IOException e) {
+            Gdx.app.error("GdxGame", "Saved data could not be loaded, changes will not be saved", e);
+        }
+        DataManager.populate();
     }
 
     public void render() {
         super.render();
+        if (profiler != null) {
+            reportFrameCost();
+        }
+    }
+
+    /**
+     * Logs the average render calls and texture binds per frame about once a second, when debug logging is on. Each
+     * texture switch in the batch costs a render call, so the two go down together as more is drawn from one atlas.
+     */
+    private void reportFrameCost() {
+        reportFrames++;
+        if (TimeUtils.timeSinceMillis(reportMillis) < 1000) {
+            return;
+        }
+        Gdx.app.debug("GdxGame", "Per frame: " + (float) batch.totalRenderCalls / reportFrames + " render calls, "
+                + (float) profiler.getTextureBindings() / reportFrames + " texture binds, "
+                + (float) profiler.getDrawCalls() / reportFrames + " draw calls");
+        batch.totalRenderCalls = 0;
+        profiler.reset();
+        reportFrames = 0;
+        reportMillis = TimeUtils.millis();
+    }
+
+    public void pause() {
+        super.pause();
+        if (!loader.isDone()) {
+            return; // The data may still be loading on the startup thread.
+        }
+        DataManager.checkpoint();
+        DataManager.trimMemory();
     }
 
     public void dispose() {
+        ScreenManager.dispose();
+        SpellingGameScreen.clearKeyboards();
         batch.dispose();
+        SoundCache.dispose();
+        AssetManager.dispose();
+        Alphabet.clear();
+        if (!loader.isDone()) {
+            return;
+        }
+        try {
+            DataManager.close();
+        } catch (IOException e) {
+            Gdx.app.error("GdxGame", "Saved data could not be written", e);
+        }
     }
 }
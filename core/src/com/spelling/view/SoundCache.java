@@ -0,0 +1,222 @@
+package com.spelling.view;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.TimeUtils;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps decoded sounds around so playing one does not mean loading an mp3 first.
+ * The alphabet of the current language is loaded up front, the most recently played word sounds are kept in a
+ * small LRU, and sound effects are kept until disposal.
+ * <p>
+ * Word sounds go through a libGDX asset manager, so upcoming words can be decoded on its worker thread with
+ * {@link #prefetchWord(String, String)} while the game keeps drawing. {@link #update()} has to be called every frame
+ * for queued sounds to finish loading.
+ */
+public class SoundCache {
+    private static final int WORD_SOUND_CAPACITY = 8;
+    /**
+     * Letter latencies are logged after this many drops.
+     */
+    private static final int LATENCY_LOG_INTERVAL = 50;
+
+    private static String alphabetFolder;
+    private static HashMap<String, Sound> letterSounds = new HashMap<String, Sound>();
+    private static com.badlogic.gdx.assets.AssetManager wordLoader; // Made on first use, as it needs Gdx.files.
+    // Paths of the most recent word sounds, eldest first, and whether each has a sound file.
+    private static LinkedHashMap<String, Boolean> wordSounds = new LinkedHashMap<String, Boolean>(16, 0.75f, true);
+    private static HashMap<String, Sound> effects = new HashMap<String, Sound>();
+
+    private static int latencyCount;
+    private static long latencyTotalNanos;
+    private static long latencyMaxNanos;
+
+    /**
+     * Loads the letter sounds of a language, releasing those of the previously loaded language.
+     *
+     * @param folder  The folder of the language's letter sounds, from its language pack.
+     * @param letters The names of the letters.
+     */
+    public static void preloadAlphabet(String folder, Iterable<String> letters) {
+        useAlphabet(folder);
+        for (String letter : letters) {
+            if (!letterSounds.containsKey(letter)) {
+                letterSounds.put(letter, load(folder + "/" + letter + ".mp3"));
+            }
+        }
+    }
+
+    /**
+     * The sound of a letter, or null if there is no sound file for it.
+     *
+     * @param folder The folder of the language's letter sounds.
+     */
+    public static Sound getLetter(String folder, String letter) {
+        useAlphabet(folder);
+        Sound sound = letterSounds.get(letter);
+        if (sound == null && !letterSounds.containsKey(letter)) {
+            sound = load(folder + "/" + letter + ".mp3");
+            letterSounds.put(letter, sound);
+        }
+        return sound;
+    }
+
+    /**
+     * The sound of a word, or null if there is no sound file for it. Only the last few words stay loaded. A word that
+     * was not prefetched, or is still being decoded, is waited for.
+     *
+     * @param folder The folder of the language's word sounds.
+     */
+    public static Sound getWord(String folder, String audioKey) {
+        String path = folder + "/" + audioKey + ".mp3";
+        if (!queueWord(path)) {
+            return null;
+        }
+        if (!wordLoader.isLoaded(path)) {
+            wordLoader.finishLoadingAsset(path);
+        }
+        return wordLoader.get(path, Sound.class);
+    }
+
+    /**
+     * Starts decoding the sound of a word on the asset manager's worker thread and returns straight away.
+     *
+     * @param folder The folder of the language's word sounds.
+     */
+    public static void prefetchWord(String folder, String audioKey) {
+        queueWord(folder + "/" + audioKey + ".mp3");
+    }
+
+    /**
+     * How many upcoming word sounds can be prefetched before they push each other, or the word being played, out of
+     * the cache.
+     */
+    public static int getPrefetchLimit() {
+        return WORD_SOUND_CAPACITY - 1;
+    }
+
+    /**
+     * Lets queued word sounds finish loading. Call once a frame on the render thread.
+     */
+    public static void update() {
+        if (wordLoader != null) {
+            wordLoader.update();
+        }
+    }
+
+    /**
+     * Marks a word sound as the most recent one, queuing it for loading the first time, and unloads the eldest once
+     * there are too many.
+     *
+     * @return Whether the word has a sound file.
+     */
+    private static boolean queueWord(String path) {
+        Boolean exists = wordSounds.get(path);
+        if (exists == null) {
+            exists = Gdx.files.internal(path).exists();
+            if (exists) {
+                if (wordLoader == null) {
+                    wordLoader = new com.badlogic.gdx.assets.AssetManager();
+                }
+                wordLoader.load(path, Sound.class);
+            }
+            wordSounds.put(path, exists);
+            if (wordSounds.size() > WORD_SOUND_CAPACITY) {
+                Iterator<Map.Entry<String, Boolean>> eldest = wordSounds.entrySet().iterator();
+                Map.Entry<String, Boolean> evicted = eldest.next();
+                eldest.remove();
+                if (evicted.getValue()) {
+                    wordLoader.unload(evicted.getKey());
+                }
+            }
+        }
+        return exists;
+    }
+
+    /**
+     * A sound effect from the sounds folder, such as {@code letter-click.mp3}. It is shared, so it is not disposed by
+     * whoever uses it.
+     */
+    public static Sound getEffect(String fileName) {
+        Sound sound = effects.get(fileName);
+        if (sound == null) {
+            sound = Gdx.audio.newSound(Gdx.files.internal("sounds/" + fileName));
+            effects.put(fileName, sound);
+        }
+        return sound;
+    }
+
+    /**
+     * Records the time from a letter drop, taken with {@link TimeUtils#nanoTime()}, until its sound started.
+     */
+    public static void recordLatency(long dropNanos) {
+        long latency = TimeUtils.nanoTime() - dropNanos;
+        latencyCount++;
+        latencyTotalNanos += latency;
+        latencyMaxNanos = Math.max(latencyMaxNanos, latency);
+        if (latencyCount % LATENCY_LOG_INTERVAL == 0) {
+            Gdx.app.debug("SoundCache", "Drop to audio latency over " + latencyCount + " drops: average "
+                    + getAverageLatencyMillis() + " ms, max " + latencyMaxNanos / 1000000f + " ms");
+        }
+    }
+
+    public static float getAverageLatencyMillis() {
+        return latencyCount == 0 ? 0 : latencyTotalNanos / (float) latencyCount / 1000000f;
+    }
+
+    /**
+     * How many sounds are loaded, for the leak report.
+     */
+    public static int getLoadedCount() {
+        int wordCount = wordLoader == null ? 0 : wordLoader.getLoadedAssets();
+        return countLoaded(letterSounds) + wordCount + countLoaded(effects);
+    }
+
+    public static void dispose() {
+        disposeAll(letterSounds);
+        if (wordLoader != null) {
+            wordLoader.dispose();
+            wordLoader = null;
+        }
+        wordSounds.clear();
+        disposeAll(effects);
+        alphabetFolder = null;
+    }
+
+    private static void useAlphabet(String folder) {
+        if (!folder.equals(alphabetFolder)) {
+            disposeAll(letterSounds);
+            alphabetFolder = folder;
+        }
+    }
+
+    private static Sound load(String path) {
+        FileHandle file = Gdx.files.internal(path);
+        return file.exists() ? Gdx.audio.newSound(file) : null;
+    }
+
+    private static int countLoaded(Map<String, Sound> sounds) {
+        int count = 0;
+        for (Sound sound : sounds.values()) {
+            if (sound != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static void disposeAll(Map<String, Sound> sounds) {
+        for (Sound sound : sounds.values()) {
+            if (sound != null) {
+                sound.dispose();
+            }
+        }
+        sounds.clear();
+    }
+}
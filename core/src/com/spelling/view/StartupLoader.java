@@ -0,0 +1,173 @@
+package com.spelling.view;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.TimeUtils;
+
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Runs the startup stages of the game while the splash screen is shown.
+ * <p>
+ * Background stages only use the CPU and run one after another on a worker thread. Render stages touch OpenGL, so
+ * they run on the render thread from {@link #update()}, one per frame, and only once every background stage added
+ * before them has finished. Background stages start straight away and must not depend on render stages.
+ * <p>
+ * The time each stage took is logged, along with the total, to keep an eye on cold start.
+ */
+public class StartupLoader {
+    private static final String TAG = "StartupLoader";
+
+    /**
+     * A unit of startup work.
+     */
+    public interface Stage {
+        void run() throws Exception;
+    }
+
+    private final ArrayList<StageEntry> stages = new ArrayList<StageEntry>();
+    private ExecutorService executor;
+    private int finishedStages;
+    private long startNanos;
+    private boolean done;
+
+    /**
+     * Adds a stage that runs on the worker thread.
+     */
+    public void addBackground(String name, Stage stage) {
+        stages.add(new StageEntry(name, stage, true));
+    }
+
+    /**
+     * Adds a stage that runs on the render thread.
+     */
+    public void addRenderThread(String name, Stage stage) {
+        stages.add(new StageEntry(name, stage, false));
+    }
+
+    /**
+     * Starts the background stages. Call on the render thread once all stages have been added.
+     */
+    public void start() {
+        startNanos = TimeUtils.nanoTime();
+        executor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "startup-loader");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        for (final StageEntry entry : stages) {
+            if (entry.background) {
+                entry.future = executor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        entry.run();
+                        return null;
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Advances loading by at most one render stage. Call once per frame on the render thread.
+     *
+     * @return True once every stage has finished.
+     * @throws GdxRuntimeException If a stage failed.
+     */
+    public boolean update() {
+        if (done) {
+            return true;
+        }
+        finishedStages = 0;
+        boolean ranRenderStage = false;
+        for (int i = 0; i < stages.size(); i++) {
+            StageEntry entry = stages.get(i);
+            if (entry.background) {
+                if (!entry.future.isDone()) {
+                    break;
+                }
+                rethrowFailure(entry);
+            } else if (!entry.finished) {
+                if (ranRenderStage) {
+                    break;
+                }
+                runOnRenderThread(entry);
+                ranRenderStage = true;
+            }
+            finishedStages++;
+        }
+        if (finishedStages == stages.size()) {
+            done = true;
+            executor.shutdown();
+            Gdx.app.log(TAG, "Startup took " + millisSince(startNanos) + " ms");
+        }
+        return done;
+    }
+
+    /**
+     * The fraction of stages that have finished, from 0 to 1.
+     */
+    public float getProgress() {
+        return stages.isEmpty() ? 1 : finishedStages / (float) stages.size();
+    }
+
+    public boolean isDone() {
+        return done;
+    }
+
+    private void runOnRenderThread(StageEntry entry) {
+        try {
+            entry.run();
+        } catch (Exception e) {
+            executor.shutdownNow();
+            throw new GdxRuntimeException("Startup stage " + entry.name + " failed", e);
+        }
+    }
+
+    private void rethrowFailure(StageEntry entry) {
+        try {
+            entry.future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GdxRuntimeException("Interrupted while waiting for startup stage " + entry.name, e);
+        } catch (ExecutionException e) {
+            executor.shutdownNow();
+            throw new GdxRuntimeException("Startup stage " + entry.name + " failed", e.getCause());
+        }
+    }
+
+    private static long millisSince(long nanos) {
+        return (TimeUtils.nanoTime() - nanos) / 1000000;
+    }
+
+    private static class StageEntry {
+        final String name;
+        final Stage stage;
+        final boolean background;
+        Future<Void> future;
+        boolean finished;
+
+        StageEntry(String name, Stage stage, boolean background) {
+            this.name = name;
+            this.stage = stage;
+            this.background = background;
+        }
+
+        void run() throws Exception {
+            long startNanos = TimeUtils.nanoTime();
+            stage.run();
+            finished = true;
+            Gdx.app.log(TAG, name + " took " + millisSince(startNanos) + " ms"
+                    + (background ? " on the worker thread" : " on the render thread"));
+        }
+    }
+}
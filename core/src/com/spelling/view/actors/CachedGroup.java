@@ -0,0 +1,118 @@
+package com.spelling.view.actors;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
+import com.badlogic.gdx.scenes.scene2d.Group;
+import com.badlogic.gdx.scenes.scene2d.InputEvent;
+import com.badlogic.gdx.scenes.scene2d.InputListener;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.viewport.Viewport;
+
+/**
+ * The bottom layer of a screen, such as its background and keyboard, drawn into a frame buffer once and then drawn
+ * as a single picture every frame until it changes. The layer covers the whole viewport: it is cleared to black like
+ * the screen and drawn without blending, so nothing can show through it.
+ * <p>
+ * Adding or removing its own children and touching anything in it redraw it. Any other change to what it shows,
+ * such as a new picture deeper in, must call {@link #invalidate()}, and so must resuming, as the frame buffer's
+ * contents are lost with the GL context.
+ */
+public class CachedGroup extends Group implements Disposable {
+    private final Viewport viewport;
+    private final TextureRegion cache = new TextureRegion();
+    private FrameBuffer frameBuffer;
+    private boolean dirty = true;
+    private int redrawCount;
+
+    /**
+     * @param viewport The viewport of the stage the layer is drawn on, which the frame buffer matches.
+     */
+    public CachedGroup(Viewport viewport) {
+        this.viewport = viewport;
+        setTransform(false);
+        // A touch may press or let go of a button in the layer.
+        addCaptureListener(new InputListener() {
+            @Override
+            public boolean touchDown(InputEvent event, float x, float y, int pointer, int button) {
+                invalidate();
+                return true;
+            }
+
+            @Override
+            public void touchUp(InputEvent event, float x, float y, int pointer, int button) {
+                invalidate();
+            }
+        });
+    }
+
+    /**
+     * Draws the layer again on the next frame.
+     */
+    public void invalidate() {
+        dirty = true;
+    }
+
+    /**
+     * How many times the layer was drawn into its frame buffer.
+     */
+    public int getRedrawCount() {
+        return redrawCount;
+    }
+
+    @Override
+    protected void childrenChanged() {
+        invalidate();
+    }
+
+    @Override
+    public void draw(Batch batch, float parentAlpha) {
+        int width = viewport.getScreenWidth();
+        int height = viewport.getScreenHeight();
+        if (width <= 0 || height <= 0) {
+            super.draw(batch, parentAlpha);
+            return;
+        }
+        if (frameBuffer == null || frameBuffer.getWidth() != width || frameBuffer.getHeight() != height) {
+            if (frameBuffer != null) {
+                frameBuffer.dispose();
+            }
+            frameBuffer = new FrameBuffer(Pixmap.Format.RGB888, width, height, false);
+            cache.setRegion(frameBuffer.getColorBufferTexture());
+            cache.flip(false, true);
+            dirty = true;
+        }
+        if (dirty) {
+            batch.end();
+            frameBuffer.begin();
+            Gdx.gl.glClearColor(0, 0, 0, 1);
+            Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+            batch.begin();
+            super.draw(batch, parentAlpha);
+            batch.end();
+            frameBuffer.end(viewport.getScreenX(), viewport.getScreenY(), width, height);
+            batch.begin();
+            dirty = false;
+            redrawCount++;
+        }
+        Camera camera = viewport.getCamera();
+        batch.disableBlending();
+        batch.setColor(Color.WHITE);
+        batch.draw(cache, camera.position.x - viewport.getWorldWidth() / 2,
+                camera.position.y - viewport.getWorldHeight() / 2, viewport.getWorldWidth(), viewport.getWorldHeight());
+        batch.enableBlending();
+    }
+
+    @Override
+    public void dispose() {
+        if (frameBuffer != null) {
+            frameBuffer.dispose();
+            frameBuffer = null;
+        }
+    }
+}
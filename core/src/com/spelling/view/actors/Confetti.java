@@ -0,0 +1,123 @@
+package com.spelling.view.actors;
+
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.Interpolation;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.Touchable;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Pool;
+
+import java.util.Random;
+
+/**
+ * Confetti pieces that fly out from a point, spin and fade. All pieces are moved and drawn by this one actor, so a
+ * burst adds no actors or actions to the stage, and finished pieces go back to a pool.
+ */
+public class Confetti extends Actor {
+    /**
+     * The most pieces in flight at once. Bursts past it are thinned out.
+     */
+    public static int particleBudget = Gdx.app != null && Gdx.app.getType() == Application.ApplicationType.Android ? 100 : 250;
+
+    private static final float DURATION = 2f;
+    private static final int SIZE = 100;
+    private static final int DISTANCE = 400;
+    private static final int MAX_ROTATION = 270;
+
+    private final Array<Piece> pieces = new Array<Piece>(false, 64);
+    private final Pool<Piece> piecePool = new Pool<Piece>() {
+        @Override
+        protected Piece newObject() {
+            return new Piece();
+        }
+    };
+    private final Random random = new Random();
+    private final Color drawColor = new Color();
+    private int droppedPieces;
+
+    public Confetti() {
+        setTouchable(Touchable.disabled);
+    }
+
+    /**
+     * Sends pieces flying from a point, in the coordinates of this actor's parent.
+     */
+    public void burst(TextureRegion region, float x, float y, int count) {
+        for (int i = 0; i < count; i++) {
+            if (pieces.size >= particleBudget) {
+                droppedPieces += count - i;
+                return;
+            }
+            Piece piece = piecePool.obtain();
+            piece.region = region;
+            piece.startX = x;
+            piece.startY = y;
+            piece.endX = x + (random.nextBoolean() ? random.nextInt(DISTANCE) : -random.nextInt(DISTANCE)) + random.nextInt(DISTANCE);
+            piece.endY = y + random.nextInt(DISTANCE);
+            piece.rotation = random.nextBoolean() ? random.nextInt(MAX_ROTATION) : -random.nextInt(MAX_ROTATION);
+            pieces.add(piece);
+        }
+    }
+
+    /**
+     * Pieces in flight.
+     */
+    public int getLiveCount() {
+        return pieces.size;
+    }
+
+    /**
+     * Pieces that were not sent because the budget was reached.
+     */
+    public int getDroppedCount() {
+        return droppedPieces;
+    }
+
+    @Override
+    public void act(float delta) {
+        super.act(delta);
+        for (int i = pieces.size - 1; i >= 0; i--) {
+            Piece piece = pieces.get(i);
+            piece.time += delta;
+            if (piece.time >= DURATION) {
+                pieces.removeIndex(i);
+                piecePool.free(piece);
+            }
+        }
+    }
+
+    @Override
+    public void draw(Batch batch, float parentAlpha) {
+        Color color = getColor();
+        for (int i = 0; i < pieces.size; i++) {
+            Piece piece = pieces.get(i);
+            float progress = piece.time / DURATION;
+            float moved = Interpolation.smooth.apply(progress);
+            batch.setColor(drawColor.set(color.r, color.g, color.b, color.a * parentAlpha * (1 - progress)));
+            batch.draw(piece.region,
+                    piece.startX + (piece.endX - piece.startX) * moved, piece.startY + (piece.endY - piece.startY) * moved,
+                    SIZE / 2, SIZE / 2, SIZE, SIZE, 1, 1, piece.rotation * progress);
+        }
+        batch.setColor(Color.WHITE);
+    }
+
+    private static class Piece implements Pool.Poolable {
+        TextureRegion region;
+        float startX;
+        float startY;
+        float endX;
+        float endY;
+        float rotation;
+        float time;
+
+        @Override
+        public void reset() {
+            region = null;
+            time = 0;
+        }
+    }
+}
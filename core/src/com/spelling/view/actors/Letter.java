@@ -1,33 +1,173 @@
 package com.spelling.view.actors;
 
-import com.badlogic.gdx.scenes.scene2d.ui.TextButton;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.InputEvent;
+import com.badlogic.gdx.scenes.scene2d.InputListener;
+import com.badlogic.gdx.scenes.scene2d.Touchable;
+import com.badlogic.gdx.scenes.scene2d.ui.TextButton.TextButtonStyle;
+import com.badlogic.gdx.scenes.scene2d.utils.Drawable;
+import com.badlogic.gdx.utils.Pool;
 import com.spelling.view.AssetManager;
+import com.spelling.viewmodel.Alphabet;
 
-public class Letter extends TextButton {
+/**
+ * A letter of the game keyboard, or a copy of one dragged to a space. It draws the button background of its style
+ * and its name, laid out once into a font cache whenever the name or size changes, so a frame costs a background and
+ * a few glyphs instead of the Table, Cell and Label of a TextButton. The background is pressed while it is touched.
+ */
+public class Letter extends Actor implements Pool.Poolable {
+    // Shared by all letters, it finds the letter through the event.
+    private static final InputListener pressListener = new InputListener() {
+        @Override
+        public boolean touchDown(InputEvent event, float x, float y, int pointer, int button) {
+            ((Letter) event.getListenerActor()).pressed = true;
+            return true;
+        }
+
+        @Override
+        public void touchUp(InputEvent event, float x, float y, int pointer, int button) {
+            ((Letter) event.getListenerActor()).pressed = false;
+        }
+    };
+
+    private final GlyphLayout glyphLayout = new GlyphLayout();
+    private final Color tint = new Color();
+    private TextButtonStyle style;
+    private BitmapFontCache fontCache;
+    private boolean textChanged = true;
+    private boolean pressed;
     private String spelling;
+    private int token = Alphabet.UNKNOWN;
+    private int space = -1;
 
     public Letter(String name, int size) {
-        super(name, AssetManager.textButtonStyle64);
-        if (size < 100) {
-            setStyle(AssetManager.textButtonStyle32);
-        }
+        setStyle(size);
         setName(name);
         spelling = name;
         setSize(size, size);
+        addListener(pressListener);
     }
 
     public Letter(Letter letter, int size) {
         this(letter.getName(), size);
         spelling = letter.spelling;
+        token = letter.token;
+    }
+
+    /**
+     * Turns a pooled letter into a copy of another letter.
+     */
+    public void copy(Letter letter, int size) {
+        setStyle(size);
+        setName(letter.getName());
+        spelling = letter.spelling;
+        token = letter.token;
+        setSize(size, size);
+        textChanged = true;
+    }
+
+    private void setStyle(int size) {
+        TextButtonStyle style = size < 100 ? AssetManager.textButtonStyle32 : AssetManager.textButtonStyle64;
+        if (fontCache == null || fontCache.getFont() != style.font) {
+            fontCache = style.font.newFontCache();
+            textChanged = true;
+        }
+        this.style = style;
+    }
+
+    /**
+     * Takes the letter off the stage and clears what was done to it, before it goes back to its pool.
+     */
+    @Override
+    public void reset() {
+        remove();
+        clearActions();
+        setColor(Color.WHITE);
+        setScale(1);
+        setRotation(0);
+        setTouchable(Touchable.enabled);
+        pressed = false;
+        space = -1;
+    }
+
+    /**
+     * Lets go of the letter if it is being pressed, as when the keyboard is taken off the screen under a finger.
+     */
+    public void cancelPress() {
+        pressed = false;
+    }
+
+    @Override
+    protected void sizeChanged() {
+        textChanged = true;
+    }
+
+    /**
+     * Centers the name in the background's content area the way a TextButton's label is, the baseline a cap height
+     * above the middle.
+     */
+    private void layoutText() {
+        Drawable background = style.up;
+        BitmapFont font = fontCache.getFont();
+        float width = getWidth() - background.getLeftWidth() - background.getRightWidth();
+        float height = getHeight() - background.getBottomHeight() - background.getTopHeight();
+        glyphLayout.setText(font, getName());
+        float capHeight = font.getData().capHeight;
+        fontCache.setText(glyphLayout, background.getLeftWidth() + (width - glyphLayout.width) / 2,
+                background.getBottomHeight() + (height - capHeight) / 2 + capHeight);
+        tint.set(Color.WHITE);
+        textChanged = false;
     }
 
-    // Each Letter can have a different spelling if it is a tone.
-    // If tone, trim actual spelling to last lowercase character.
-    public void setIsTone() {
-        spelling = getName().substring(getName().length() - 1).toLowerCase();
+    @Override
+    public void draw(Batch batch, float parentAlpha) {
+        if (textChanged) {
+            layoutText();
+        }
+        Color color = getColor();
+        batch.setColor(color.r, color.g, color.b, color.a * parentAlpha);
+        (pressed ? style.down : style.up).draw(batch, getX(), getY(), getWidth(), getHeight());
+        if (tint.r != color.r || tint.g != color.g || tint.b != color.b || tint.a != color.a * parentAlpha) {
+            tint.set(color.r, color.g, color.b, color.a * parentAlpha);
+            fontCache.tint(tint);
+        }
+        fontCache.setPosition(getX(), getY());
+        fontCache.draw(batch);
+    }
+
+    /**
+     * Sets the letter of the alphabet this is. A tone is spelled as the last letter of its name but keeps its own
+     * token, so it is never taken for the consonant spelled the same way.
+     */
+    public void setToken(Alphabet alphabet) {
+        token = alphabet.getToken(getName());
+        spelling = alphabet.getSpelling(token);
     }
 
     public String getSpelling() {
         return spelling;
     }
+
+    /**
+     * The token of the letter in its alphabet, or Alphabet.UNKNOWN.
+     */
+    public int getToken() {
+        return token;
+    }
+
+    /**
+     * The index of the space the letter is in, or -1 if it is not in one.
+     */
+    public int getSpace() {
+        return space;
+    }
+
+    public void setSpace(int space) {
+        this.space = space;
+    }
 }
@@ -0,0 +1,159 @@
+package com.spelling.view.actors;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.ui.WidgetGroup;
+import com.badlogic.gdx.scenes.scene2d.utils.Layout;
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * A list of rows of the same height for a ScrollPane, which only has actors for the rows in view and a few either
+ * side. An adapter makes the rows and binds one to the item at an index. Rows scrolled out of view are bound again to
+ * the items scrolling in, so a list of thousands of items costs about as much as a screenful. The ScrollPane tells
+ * the list what is in view as it draws it, so the first rows are bound on the first frame.
+ * <p>
+ * When items are added or removed, {@link #itemsChanged(int)} binds again only the rows from the first index that
+ * changed. Rows are left aligned at their preferred width.
+ */
+public class RecyclingList extends WidgetGroup {
+    /**
+     * Rows bound beyond each edge of the view, so a slow scroll does not bind a row every frame.
+     */
+    private static final int BUFFER_ROWS = 2;
+
+    private final Adapter adapter;
+    private final float rowHeight;
+    private int count;
+    // The rows of items firstIndex and on. A null row is bound on the next update.
+    private Array<Actor> rows = new Array<Actor>();
+    private Array<Actor> nextRows = new Array<Actor>();
+    private int firstIndex;
+    private final Array<Actor> freeRows = new Array<Actor>();
+    private int bindCount;
+
+    /**
+     * Makes and fills in the rows of a {@link RecyclingList}.
+     */
+    public interface Adapter {
+        int getCount();
+
+        /**
+         * Makes an empty row. Its listeners should find what item it shows from the row, as it is bound to other items
+         * later.
+         */
+        Actor newRow();
+
+        void bindRow(Actor row, int index);
+    }
+
+    public RecyclingList(Adapter adapter, float rowHeight) {
+        this.adapter = adapter;
+        this.rowHeight = rowHeight;
+        count = adapter.getCount();
+    }
+
+    /**
+     * Binds again the rows of the items from an index on, after items were added, removed or changed there.
+     */
+    public void itemsChanged(int fromIndex) {
+        for (int i = Math.max(0, fromIndex - firstIndex); i < rows.size; i++) {
+            freeRow(rows.get(i));
+            rows.set(i, null);
+        }
+        int newCount = adapter.getCount();
+        if (newCount != count) {
+            count = newCount;
+            invalidateHierarchy();
+        }
+        updateRows();
+    }
+
+    /**
+     * How many times a row was bound to an item.
+     */
+    public int getBindCount() {
+        return bindCount;
+    }
+
+    @Override
+    public float getPrefHeight() {
+        return count * rowHeight;
+    }
+
+    @Override
+    public void layout() {
+        updateRows();
+    }
+
+    /**
+     * Called by the ScrollPane with the part of the list in view whenever it is drawn.
+     */
+    @Override
+    public void setCullingArea(Rectangle cullingArea) {
+        super.setCullingArea(cullingArea);
+        updateRows();
+    }
+
+    @Override
+    protected void childrenChanged() {
+        // Rows are added while drawing and do not change the size of the list.
+    }
+
+    private void updateRows() {
+        Rectangle area = getCullingArea();
+        if (area == null) {
+            return; // Not drawn by the ScrollPane yet.
+        }
+        float height = getHeight();
+        float top = area.y + area.height;
+        float bottom = area.y;
+        int first = Math.max(0, (int) ((height - top) / rowHeight) - BUFFER_ROWS);
+        int last = Math.min(count - 1, (int) ((height - bottom) / rowHeight) + BUFFER_ROWS);
+
+        if (first != firstIndex || last - first + 1 != rows.size) {
+            // Keep the rows still in view where they are and free the rest.
+            nextRows.clear();
+            for (int index = first; index <= last; index++) {
+                int i = index - firstIndex;
+                if (i >= 0 && i < rows.size) {
+                    nextRows.add(rows.get(i));
+                    rows.set(i, null);
+                } else {
+                    nextRows.add(null);
+                }
+            }
+            for (Actor row : rows) {
+                freeRow(row);
+            }
+            Array<Actor> swap = rows;
+            rows = nextRows;
+            nextRows = swap;
+            firstIndex = first;
+        }
+
+        for (int i = 0; i < rows.size; i++) {
+            Actor row = rows.get(i);
+            if (row == null) {
+                if (freeRows.size > 0) {
+                    row = freeRows.pop();
+                    row.setVisible(true);
+                } else {
+                    row = adapter.newRow();
+                    addActor(row);
+                }
+                adapter.bindRow(row, firstIndex + i);
+                bindCount++;
+                rows.set(i, row);
+            }
+            float width = row instanceof Layout ? ((Layout) row).getPrefWidth() : getWidth();
+            row.setBounds(0, height - (firstIndex + i + 1) * rowHeight, width, rowHeight);
+        }
+    }
+
+    private void freeRow(Actor row) {
+        if (row != null) {
+            row.setVisible(false);
+            freeRows.add(row);
+        }
+    }
+}
@@ -5,24 +5,30 @@ import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.audio.Music;
 import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.graphics.GL30;
-import com.badlogic.gdx.math.Interpolation;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.scenes.scene2d.*;
 import com.badlogic.gdx.scenes.scene2d.actions.Actions;
 import com.badlogic.gdx.scenes.scene2d.ui.*;
 import com.badlogic.gdx.scenes.scene2d.utils.ChangeListener;
 import com.badlogic.gdx.scenes.scene2d.utils.DragAndDrop;
-import com.badlogic.gdx.scenes.scene2d.utils.TextureRegionDrawable;
 import com.badlogic.gdx.utils.Align;
+import com.badlogic.gdx.utils.Pool;
+import com.spelling.model.Language;
+import com.spelling.model.LanguagePack;
 import com.spelling.model.Word;
 import com.spelling.view.AssetManager;
 import com.spelling.view.GdxGame;
+import com.spelling.view.SoundCache;
+import com.spelling.view.actors.CachedGroup;
+import com.spelling.view.actors.Confetti;
 import com.spelling.view.actors.Letter;
+import com.spelling.viewmodel.Alphabet;
 import com.spelling.viewmodel.ScreenManager;
 import com.spelling.viewmodel.SpellingGameManager;
 
 import java.util.ArrayList;
-import java.util.Random;
+import java.util.Arrays;
+import java.util.HashMap;
 
 /**
  * The game screen.
@@ -31,11 +37,13 @@ public class SpellingGameScreen implements Screen {
     private GdxGame game;
     private Stage stage;
     private DragAndDrop dragAndDrop;
-    private Random random;
+    private Confetti confetti;
+    private final Vector2 confettiPosition = new Vector2();
 
     // Actors added to the screen are drawn in the order they were added. Actors drawn later are drawn on top of everything before.
     // These groups are used to add actors to the screen in the right order. All actors added to groups are drawn when the group is drawn.
-    private Group backgroundGroup;
+    // The background group is drawn from a cache and must be invalidated when what it shows changes.
+    private CachedGroup backgroundGroup;
     private Group actorsGroup;
     private Group animationsGroup;
 
@@ -43,12 +51,31 @@ public class SpellingGameScreen implements Screen {
     private Table pictureTable;
     private Table spaceTable;
     private Container<Image> pictureContainer;
-    private ArrayList<Container<Letter>> letterSpaces;
+    private ArrayList<Container<Letter>> letterSpaces; // The spaces of the current word, the first of spacePool.
+    private final ArrayList<Container<Letter>> spacePool = new ArrayList<Container<Letter>>();
+    private final ArrayList<DragAndDrop.Target> spaceTargets = new ArrayList<DragAndDrop.Target>();
+    private final Pool<Letter> letterPool = new Pool<Letter>() {
+        @Override
+        protected Letter newObject() {
+            Letter letter = new Letter("", letterSize);
+            letterSources.put(letter, new PlacedLetterSource(letter));
+            return letter;
+        }
+    };
+    // The source of each pooled letter, registered with dragAndDrop only while the letter is in use.
+    private final HashMap<Letter, DragAndDrop.Source> letterSources = new HashMap<Letter, DragAndDrop.Source>();
+    private final DragAndDrop.Payload payload = new DragAndDrop.Payload();
+    private final ArrayList<DragAndDrop.Source> alphabetSources = new ArrayList<DragAndDrop.Source>();
+    // Keyboards by language id and screen shape, kept for the next screen.
+    private static final HashMap<String, Keyboard> keyboards = new HashMap<String, Keyboard>();
+    private Keyboard keyboard;
+    private int liveLetterCount;
     public ImageButton backButton;
     public Label hintPopup;
     private TextButton skipButton;
     private TextButton hintButton;
     private SpellingGameManager spellingGameManager;
+    private final int lookAheadDepth;
     private Music backgroundMusic;
     private Sound clickSound;
 
@@ -60,13 +87,19 @@ public class SpellingGameScreen implements Screen {
     private int buttonHeight = 150;
 
     public SpellingGameScreen(GdxGame gdxGame) {
+        this(gdxGame, SpellingGameManager.DEFAULT_LOOK_AHEAD_DEPTH);
+    }
+
+    /**
+     * @param lookAheadDepth How many upcoming words have their sounds loaded early, see SpellingGameManager.
+     */
+    public SpellingGameScreen(GdxGame gdxGame, int lookAheadDepth) {
         this.game = gdxGame;
+        this.lookAheadDepth = lookAheadDepth;
         stage = new Stage(gdxGame.viewport, gdxGame.batch);
-        Gdx.input.setInputProcessor(stage);
         dragAndDrop = new DragAndDrop();
         dragAndDrop.setDragTime(0);
         dragAndDrop.setDragActorPosition(letterSize / 2, -letterSize / 2);
-        random = new Random(System.currentTimeMillis());
 
         setStage();
     }
@@ -78,16 +111,22 @@ public class SpellingGameScreen implements Screen {
         backgroundMusic = AssetManager.getMusic("GameMusic");
         backgroundMusic.setVolume(0.00f);
         backgroundMusic.play();
-        clickSound = Gdx.audio.newSound(Gdx.files.internal("sounds/switch2.ogg"));
+        clickSound = SoundCache.getEffect("switch2.ogg");
 
-        stage.addActor(backgroundGroup = new Group());
+        stage.addActor(backgroundGroup = new CachedGroup(stage.getViewport()));
         stage.addActor(actorsGroup = new Group());
         stage.addActor(animationsGroup = new Group());
+        animationsGroup.addActor(confetti = new Confetti());
 
         Image backgroundImage = new Image(AssetManager.getTextureRegion("background"));
         backgroundImage.setSize(GdxGame.virtualWidth, GdxGame.virtualHeight);
         backgroundGroup.addActor(backgroundImage);
 
+        // The picture and the keyboard only change with the word or a touch, so they are cached with the background.
+        Table staticTable = new Table();
+        staticTable.setBounds(0, 0, GdxGame.virtualWidth, GdxGame.virtualHeight);
+        backgroundGroup.addActor(staticTable);
+
         Table mainTable = new Table();
         mainTable.setBounds(0, 0, GdxGame.virtualWidth, GdxGame.virtualHeight);
         actorsGroup.addActor(mainTable);
@@ -97,10 +136,10 @@ public class SpellingGameScreen implements Screen {
         spaceTable.setBounds(mainTable.getWidth() / 2, 50, 0, letterSpaceHeight);
         mainTable.addActor(spaceTable);
         pictureTable = new Table();
-        pictureTable.setBounds(mainTable.getWidth() / 2, 50 + letterSpaceHeight + 20, 0, pictureSize);
-        mainTable.addActor(pictureTable);
+        pictureTable.setBounds(staticTable.getWidth() / 2, 50 + letterSpaceHeight + 20, 0, pictureSize);
+        staticTable.addActor(pictureTable);
         letterTable = new Table();
-        mainTable.add(letterTable).expand().top().padTop(20);
+        staticTable.add(letterTable).expand().top().padTop(20);
 
         pictureTable.add(pictureContainer = new Container<Image>().size(pictureSize));
         letterSpaces = new ArrayList<Container<Letter>>();
@@ -111,7 +150,6 @@ public class SpellingGameScreen implements Screen {
         backButton.addListener(new ChangeListener() {
             @Override
             public void changed(ChangeEvent event, Actor actor) {
-                backgroundMusic.stop();
                 ScreenManager.setScreen(ScreenManager.getPreviousScreen());
             }
         });
@@ -152,179 +190,295 @@ public class SpellingGameScreen implements Screen {
         mainTable.addActor(hintPopup);
 
         // complementary manager
-        spellingGameManager = new SpellingGameManager(this);
+        spellingGameManager = new SpellingGameManager(this, lookAheadDepth);
     }
 
-    public void setDisplayLanguage(ScreenManager.Language language) {
+    public void setDisplayLanguage(Language language) {
         setAlphabet(language);
     }
 
     /**
-     * Sets up game screen with indicated language and associated alphabet
+     * Sets up game screen with indicated language and associated alphabet. The keyboard is built the first time a
+     * language is played and moved to later screens.
+     */
+    private void setAlphabet(Language language) {
+        detachKeyboard();
+        String key = language.getId() + (GdxGame.isResolution43 ? ":4:3" : "");
+        keyboard = keyboards.get(key);
+        if (keyboard == null) {
+            keyboard = new Keyboard(language, GdxGame.isResolution43);
+            keyboards.put(key, keyboard);
+        }
+        LanguagePack pack = language.getPack();
+        for (LanguagePack.LetterGroup group : pack.getGroups()) {
+            SoundCache.preloadAlphabet(pack.getLetterSounds(), Arrays.asList(group.letters));
+        }
+        attachKeyboard();
+    }
+
+    /**
+     * Forgets the kept keyboards, when the game closes. Their letters draw with the fonts and skin of that game, which
+     * are disposed with it, so the next game builds its keyboards again. Letters hold no GL resources of their own.
+     */
+    public static void clearKeyboards() {
+        for (Keyboard keyboard : keyboards.values()) {
+            if (keyboard.owner != null) {
+                keyboard.owner.detachKeyboard();
+            }
+            keyboard.table.clear();
+        }
+        keyboards.clear();
+    }
+
+    /**
+     * Puts the keyboard on this screen, taking it from the screen that had it, and lets its letters be dragged.
      */
-    private void setAlphabet(ScreenManager.Language language) {
-        int numRows = 3;
-        int numCol = 5;
-        int letterSelectSize = 89;
-        if (GdxGame.isResolution43) {
-            letterSelectSize += 20;
-            numRows += 2;
-            numCol -= 5;
+    private void attachKeyboard() {
+        if (keyboard.owner != null && keyboard.owner != this) {
+            keyboard.owner.detachKeyboard();
+        }
+        keyboard.owner = this;
+        letterTable.add(keyboard.table);
+        for (Letter letter : keyboard.letters) {
+            setLetterAsDraggable(letter);
+        }
+        backgroundGroup.invalidate();
+    }
+
+    /**
+     * Takes the keyboard off this screen so another screen can use it.
+     */
+    private void detachKeyboard() {
+        for (DragAndDrop.Source source : alphabetSources) {
+            dragAndDrop.removeSource(source);
+        }
+        alphabetSources.clear();
+        if (keyboard == null || keyboard.owner != this) {
+            return;
+        }
+        for (Letter letter : keyboard.letters) {
+            letter.cancelPress();
         }
         letterTable.clearChildren();
-        switch (language) {
-            default:
-            case ENGLISH:
-                numRows = 2;
-                letterSelectSize += 31;
-                String[] alphabet = {
-                        "a", "b", "c", "d", "e", "f", "g", "h", "i", "j", "k", "l", "m",
-                        "n", "o", "p", "q", "r", "s", "t", "u", "v", "w", "x", "y", "z"};
-                for (int i = 0; i < numRows; i++) { // row
-                    for (int j = 0; j < 13; j++) { // column
-                        Letter letter = new Letter(alphabet[(i * 13) + j], letterSelectSize);
-                        letterTable.add(new Container<Letter>(letter).size(letterSelectSize));
-                        setLetterAsDraggable(letter);
-                    }
-                    letterTable.row();
+        keyboard.owner = null;
+        backgroundGroup.invalidate();
+    }
+
+    /**
+     * The letters of a language in a table for each letter group of its language pack, laid out and sized as the pack
+     * says. The letters keep their layout from screen to screen; each screen adds its own drag sources.
+     */
+    private static class Keyboard {
+        final Table table = new Table();
+        final ArrayList<Letter> letters = new ArrayList<Letter>();
+        SpellingGameScreen owner;
+
+        Keyboard(Language language, boolean narrow) {
+            LanguagePack pack = language.getPack();
+            Alphabet alphabet = Alphabet.get(language);
+            int cellSize = pack.getCellSize(narrow);
+            int letterSize = cellSize - pack.getLetterInset();
+            for (LanguagePack.LetterGroup group : pack.getGroups()) {
+                AssetManager.loadGlyphs(group.letters);
+                Table groupTable = new Table();
+                if (group.plate) {
+                    groupTable.setBackground(AssetManager.backPlate);
                 }
-                return;
-            case HMONG:
-                numRows += 1;
-                String[] consonants = {"c", "ch", "d", "dh", "dl", "f", "h", "hl", "hm", "hml", "hn", "hny",
-                        "k", "kh", "l", "m", "ml", "n", "nc", "nch", "ndl", "nk", "nkh", "np", "nph", "npl", "nplh", "nq",
-                        "nqh", "nr", "nrh", "nt", "nth", "nts", "ntsh", "ntx", "ntxh", "ny", "p", "ph", "pl", "plh", "q",
-                        "qh", "r", "rh", "s", "t", "th", "ts", "tsh", "tx", "txh", "v", "x", "xy", "y", "z"};
-                String[] vowels = {"a", "aa", "ai", "au", "aw", "e", "ee", "i", "ia", "o", "oo", "u", "ua", "w"};
-                String[] tones = {"koJ", "muS", "kuV", "niaM", "neeG", "siaB", "zoO", "toD"};
-
-                Table consonantsTable = new Table();
-                consonantsTable.setBackground(AssetManager.backPlate);
-                letterTable.add(consonantsTable);
-                Table vowelsTable = new Table();
-                vowelsTable.setBackground(AssetManager.backPlate);
-                letterTable.add(vowelsTable);
-                Table tonesTable = new Table();
-                tonesTable.setBackground(AssetManager.backPlate);
-                letterTable.add(tonesTable);
-
-                for (int i = 0; i < numRows; i++) { // row
-                    for (int j = 0; j < 10 + numCol; j++) { // column
-                        if ((i * (10 + numCol)) + j < consonants.length) { // leaves empty spaces
-                            Letter letter = new Letter(consonants[(i * (10 + numCol)) + j], letterSelectSize - 10);
-                            consonantsTable.add(new Container<Letter>(letter).size(letterSelectSize));
-                            setLetterAsDraggable(letter);
-                        }
-                    }
-                    consonantsTable.row();
-                    for (int j = 0; j < 4; j++) { // column
-                        if ((i * 4) + j < vowels.length) { // leaves empty spaces
-                            Letter letter = new Letter(vowels[(i * 4) + j], letterSelectSize - 10);
-                            vowelsTable.add(new Container<Letter>(letter).size(letterSelectSize));
-                            setLetterAsDraggable(letter);
-                        }
-                    }
-                    vowelsTable.row();
-                    for (int j = 0; j < 2; j++) { // column
-                        if ((i * 2) + j < tones.length) { // leaves empty spaces
-                            Letter letter = new Letter(tones[(i * 2) + j], letterSelectSize - 10);
-                            letter.setIsTone();
-                            tonesTable.add(new Container<Letter>(letter).size(letterSelectSize));
-                            setLetterAsDraggable(letter);
-                        }
+                table.add(groupTable);
+                int columns = group.getColumns(narrow);
+                for (int i = 0; i < group.letters.length; i++) {
+                    Letter letter = new Letter(group.letters[i], letterSize);
+                    letter.setToken(alphabet);
+                    groupTable.add(new Container<Letter>(letter).size(cellSize));
+                    letters.add(letter);
+                    if (i % columns == columns - 1) {
+                        groupTable.row();
                     }
-                    tonesTable.row();
                 }
-                return;
+            }
         }
     }
 
     /**
-     * Creates a copy when letter is dragged from the alphabet.
+     * Creates a copy when letter is dragged from the alphabet. Copies come from a pool and go back to it when they
+     * are dropped outside the spaces, replaced by another letter or cleared for the next word.
      */
     private void setLetterAsDraggable(Letter letter) {
-        dragAndDrop.addSource(new DragAndDrop.Source(letter) {
+        DragAndDrop.Source source = new DragAndDrop.Source(letter) {
             public DragAndDrop.Payload dragStart(InputEvent event, float x, float y, int pointer) {
-                DragAndDrop.Payload payload = new DragAndDrop.Payload();
-                Letter letterCopy = new Letter((Letter) getActor(), letterSize);
-                payload.setDragActor(letterCopy);
-
-                dragAndDrop.addSource(new DragAndDrop.Source(letterCopy) {
-                    @Override
-                    public DragAndDrop.Payload dragStart(InputEvent event, float x, float y, int pointer) {
-                        DragAndDrop.Payload payload = new DragAndDrop.Payload();
-                        payload.setDragActor(getActor());
-                        return payload;
-                    }
-                });
+                payload.setDragActor(obtainLetter((Letter) getActor()));
                 return payload;
             }
-        });
+
+            @Override
+            public void dragStop(InputEvent event, float x, float y, int pointer, DragAndDrop.Payload payload, DragAndDrop.Target target) {
+                if (target == null) {
+                    releaseLetter((Letter) payload.getDragActor());
+                }
+            }
+        };
+        dragAndDrop.addSource(source);
+        alphabetSources.add(source);
     }
 
-    public void setPictureAndSpaceLength(String pictureFileName, int spaceLength) {
-        pictureContainer.setActor(new Image(AssetManager.getTextureRegion(pictureFileName)));
-        setSpaces(spaceLength);
+    /**
+     * Lets a letter in a space be dragged to another space, or off the spaces to remove it.
+     */
+    private class PlacedLetterSource extends DragAndDrop.Source {
+        PlacedLetterSource(Letter letter) {
+            super(letter);
+        }
+
+        @Override
+        public DragAndDrop.Payload dragStart(InputEvent event, float x, float y, int pointer) {
+            payload.setDragActor(getActor());
+            return payload;
+        }
+
+        @Override
+        public void dragStop(InputEvent event, float x, float y, int pointer, DragAndDrop.Payload payload, DragAndDrop.Target target) {
+            if (target == null) {
+                releaseLetter((Letter) getActor());
+            }
+        }
     }
 
-    private void setSpaces(int spaceLength) {
-        spaceTable.clearChildren();
-        letterSpaces.clear();
-        for (int i = 0; i < spaceLength; i++) {
-            Container<Letter> letterContainer = new Container<Letter>();
-            letterContainer.setTouchable(Touchable.enabled);
-            letterContainer.setBackground(new TextureRegionDrawable(AssetManager.getTextureRegion("underline")));
-            spaceTable.add(letterContainer.size(letterSize, letterSize)).size(letterSpaceWidth, letterSpaceHeight);
-            letterSpaces.add(letterContainer);
+    private Letter obtainLetter(Letter original) {
+        Letter letter = letterPool.obtain();
+        letter.copy(original, letterSize);
+        dragAndDrop.addSource(letterSources.get(letter));
+        liveLetterCount++;
+        return letter;
+    }
 
-            dragAndDrop.addTarget(new DragAndDrop.Target(letterContainer) {
-                @Override
-                public boolean drag(DragAndDrop.Source source, DragAndDrop.Payload payload, float x, float y, int pointer) {
-                    return true;
-                }
+    private void releaseLetter(Letter letter) {
+        dragAndDrop.removeSource(letterSources.get(letter));
+        vacateSpace(letter);
+        letterPool.free(letter);
+        liveLetterCount--;
+    }
 
-                @Override
-                public void drop(DragAndDrop.Source source, DragAndDrop.Payload payload, float x, float y, int pointer) {
-                    for (Container<Letter> letterContainer : letterSpaces) {
-                        if (!letterContainer.hasChildren()) {
-                            letterContainer.setActor(null);
-                        }
-                    }
-                    Container<Letter> newParent = (Container<Letter>) getActor();
-                    newParent.setActor((Letter) payload.getDragActor());
-                    SpellingGameScreen.this.spellingGameManager.droppedLetter(payload.getDragActor());
-                }
-            });
+    /**
+     * Takes a letter out of the space it is in, if any, and tells the manager the space is empty.
+     */
+    private void vacateSpace(Letter letter) {
+        int space = letter.getSpace();
+        if (space < 0) {
+            return;
         }
+        Container<Letter> letterContainer = spacePool.get(space);
+        if (letterContainer.getActor() == letter) {
+            letterContainer.setActor(null);
+        }
+        letter.setSpace(-1);
+        spellingGameManager.letterRemoved(space);
+    }
+
+    /**
+     * Letters copied from the alphabet that have not gone back to the pool yet.
+     */
+    public int getLiveLetterCount() {
+        return liveLetterCount;
+    }
+
+    /**
+     * Drag sources registered with the drag and drop: the alphabet and the letters copied from it.
+     */
+    public int getDragSourceCount() {
+        return alphabetSources.size() + liveLetterCount;
     }
 
     /**
-     * Gets the string formed by the letters dropped into the spaces
+     * How many times the background, picture and keyboard were drawn into their cache.
      */
-    public String getWordInSpaces() {
-        String currentString = "";
+    public int getBackgroundRedrawCount() {
+        return backgroundGroup.getRedrawCount();
+    }
+
+    public void setPictureAndSpaceLength(String pictureFileName, int spaceLength) {
+        pictureContainer.setActor(new Image(AssetManager.getTextureRegion(pictureFileName)));
+        backgroundGroup.invalidate();
+        setSpaces(spaceLength);
+    }
+
+    /**
+     * Shows a space for each letter of the word. Spaces and their drop targets are created once and reused for later
+     * words; only the spaces of the current word have their targets registered.
+     */
+    private void setSpaces(int spaceLength) {
         for (Container<Letter> letterContainer : letterSpaces) {
+            Letter letter = letterContainer.getActor();
+            if (letter == null) {
+                continue;
+            }
             if (letterContainer.hasChildren()) {
-                currentString += letterContainer.getActor().getSpelling();
-            } else {
-                currentString += " ";
+                releaseLetter(letter);
+            } else { // Being dragged out of the space; the drag source releases it.
+                letter.setSpace(-1);
+                letterContainer.setActor(null);
             }
         }
-        return currentString;
+        while (spacePool.size() < spaceLength) {
+            Container<Letter> letterContainer = new Container<Letter>();
+            letterContainer.setTouchable(Touchable.enabled);
+            letterContainer.setBackground(AssetManager.getDrawable("underline"));
+            letterContainer.size(letterSize, letterSize);
+            spacePool.add(letterContainer);
+            spaceTargets.add(new LetterSpaceTarget(letterContainer, spacePool.size() - 1));
+        }
+        for (int i = spaceLength; i < letterSpaces.size(); i++) {
+            dragAndDrop.removeTarget(spaceTargets.get(i));
+        }
+        for (int i = letterSpaces.size(); i < spaceLength; i++) {
+            dragAndDrop.addTarget(spaceTargets.get(i));
+        }
+        spaceTable.clearChildren();
+        letterSpaces.clear();
+        for (int i = 0; i < spaceLength; i++) {
+            Container<Letter> letterContainer = spacePool.get(i);
+            spaceTable.add(letterContainer).size(letterSpaceWidth, letterSpaceHeight);
+            letterSpaces.add(letterContainer);
+        }
     }
 
     /**
-     * Decides whether the spaces are filled with letter
+     * Drop targets registered with the drag and drop, one for each space of the current word.
      */
-    public boolean spacesFull() {
-        for (Container<Letter> letterContainer : letterSpaces) {
-            if (letterContainer.hasChildren()) {
-                continue;
-            } else {
-                return false;
+    public int getLiveTargetCount() {
+        return letterSpaces.size();
+    }
+
+    private class LetterSpaceTarget extends DragAndDrop.Target {
+        private final int space;
+
+        LetterSpaceTarget(Container<Letter> letterContainer, int space) {
+            super(letterContainer);
+            this.space = space;
+        }
+
+        @Override
+        public boolean drag(DragAndDrop.Source source, DragAndDrop.Payload payload, float x, float y, int pointer) {
+            return true;
+        }
+
+        @Override
+        public void drop(DragAndDrop.Source source, DragAndDrop.Payload payload, float x, float y, int pointer) {
+            Letter letter = (Letter) payload.getDragActor();
+            Container<Letter> newParent = (Container<Letter>) getActor();
+            Letter replaced = newParent.getActor();
+            vacateSpace(letter);
+            if (replaced != null && replaced != letter) {
+                if (replaced.getParent() == newParent) {
+                    releaseLetter(replaced);
+                } else { // Being dragged out of this space; the drag source releases it.
+                    replaced.setSpace(-1);
+                }
             }
+            newParent.setActor(letter);
+            letter.setSpace(space);
+            spellingGameManager.letterPlaced(space, letter);
+            spellingGameManager.droppedLetter(letter);
         }
-        return true;
     }
 
     public void winConfetti(String fileName) {
@@ -339,38 +493,41 @@ public class SpellingGameScreen implements Screen {
      * Confetti animation from the center of the subject actor.
      */
     public void confettiEffect(Actor subject, String fileName) {
-        int size = 100;
-        float duration = 2f;
-        int distance = 400;
-        Vector2 vector2 = subject.localToStageCoordinates(new Vector2(subject.getX(), subject.getY()));
-        for (int i = 0; i < 5; i++) {
-            Actor explosion = new Image(AssetManager.getTextureRegion(fileName));
-            explosion.setTouchable(Touchable.disabled);
-            animationsGroup.addActor(explosion);
-
-            explosion.setBounds(vector2.x, vector2.y, size, size);
-            explosion.setOrigin(size / 2, size / 2);
-            explosion.addAction(Actions.moveTo(vector2.x + (random.nextBoolean() ? random.nextInt(distance) : -random.nextInt(distance)) + random.nextInt(distance), vector2.y + random.nextInt(distance),
-                    duration, Interpolation.smooth));
-            explosion.addAction(Actions.rotateBy(random.nextBoolean() ? random.nextInt(270) : -random.nextInt(270), duration));
-            explosion.addAction(Actions.fadeOut(duration));
-        }
+        confettiPosition.set(subject.getX(), subject.getY());
+        subject.localToStageCoordinates(confettiPosition);
+        confetti.burst(AssetManager.getTextureRegion(fileName), confettiPosition.x, confettiPosition.y, 5);
     }
 
-    public void playLetter(String language, Letter letter) {
-        Sound sound = Gdx.audio.newSound(Gdx.files.internal("sounds/" + language + "Alphabet/" + letter.getName() + ".mp3"));
-        sound.setVolume(sound.play(), 0);
-        sound.dispose();
+    /**
+     * Confetti pieces in flight.
+     */
+    public int getLiveParticleCount() {
+        return confetti.getLiveCount();
     }
 
-    public void playWord(String language, Word currentWord) {
-        Sound sound = Gdx.audio.newSound(Gdx.files.internal("sounds/" + language + "Words/" + currentWord.getWordId() + ".mp3"));
-        sound.play();
-        sound.dispose();
+    /**
+     * @param folder The folder of the language's letter sounds.
+     */
+    public void playLetter(String folder, Letter letter) {
+        Sound sound = SoundCache.getLetter(folder, letter.getName());
+        if (sound != null) {
+            sound.setVolume(sound.play(), 0);
+        }
+    }
+
+    /**
+     * @param folder The folder of the language's word sounds.
+     */
+    public void playWord(String folder, Word currentWord) {
+        Sound sound = SoundCache.getWord(folder, currentWord.getAudioKey());
+        if (sound != null) {
+            sound.play();
+        }
     }
 
     @Override
     public void render(float delta) {
+        SoundCache.update();
         Gdx.gl.glClearColor(0, 0, 0, 1);
         Gdx.gl.glClear(GL30.GL_COLOR_BUFFER_BIT);
         stage.act(delta);
@@ -380,15 +537,22 @@ public class SpellingGameScreen implements Screen {
     @Override
     public void resize(int width, int height) {
         stage.getViewport().update(width, height, false);
+        backgroundGroup.invalidate();
     }
 
     @Override
     public void show() {
         Gdx.input.setInputProcessor(stage);
+        GdxGame.setRenderOnDemand(false); // Drags, confetti and fading hints move every frame.
+        if (keyboard != null && keyboard.owner != this) {
+            attachKeyboard();
+        }
     }
 
     @Override
     public void hide() {
+        backgroundMusic.stop();
+        detachKeyboard();
     }
 
     @Override
@@ -397,11 +561,14 @@ public class SpellingGameScreen implements Screen {
 
     @Override
     public void resume() {
+        backgroundGroup.invalidate();
     }
 
     @Override
     public void dispose() {
+        detachKeyboard();
         stage.dispose();
-        clickSound.dispose();
+        backgroundGroup.dispose();
+        backgroundMusic.dispose();
     }
 }
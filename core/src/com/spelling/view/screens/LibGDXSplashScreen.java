@@ -4,23 +4,25 @@ import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.graphics.GL30;
 import com.badlogic.gdx.scenes.scene2d.Stage;
-import com.badlogic.gdx.scenes.scene2d.actions.Actions;
 import com.badlogic.gdx.scenes.scene2d.ui.Image;
 import com.spelling.view.AssetManager;
 import com.spelling.view.GdxGame;
+import com.spelling.view.StartupLoader;
 import com.spelling.viewmodel.ScreenManager;
 
 /**
- * Credits shown for libGDX and music.
+ * Credits shown for libGDX and music, with a bar showing the startup progress. Moves on as soon as loading is done.
  */
 public class LibGDXSplashScreen implements Screen {
     private GdxGame game;
     private Stage stage;
+    private StartupLoader loader;
+    private Image progressBar;
 
-    public LibGDXSplashScreen(GdxGame gdxGame) {
+    public LibGDXSplashScreen(GdxGame gdxGame, StartupLoader loader) {
         this.game = gdxGame;
+        this.loader = loader;
         stage = new Stage(gdxGame.viewport, gdxGame.batch);
-        Gdx.input.setInputProcessor(stage);
 
         setStage();
     }
@@ -30,18 +32,18 @@ public class LibGDXSplashScreen implements Screen {
         image.setSize(GdxGame.virtualWidth, GdxGame.virtualHeight);
         stage.addActor(image);
 
-        image.addAction(Actions.sequence(
-                Actions.delay(2f),
-                Actions.run(new Runnable() {
-                    public void run() {
-                        ScreenManager.start(game, new StartScreen(game));
-                    }
-                })
-        ));
+        progressBar = new Image(AssetManager.getTextureRegion("underline"));
+        progressBar.setBounds(0, 0, 0, 20);
+        stage.addActor(progressBar);
     }
 
     @Override
     public void render(float delta) {
+        if (loader.update()) {
+            ScreenManager.start(game, StartScreen.class);
+            return;
+        }
+        progressBar.setWidth(GdxGame.virtualWidth * loader.getProgress());
         Gdx.gl.glClearColor(0, 0, 0, 1);
         Gdx.gl.glClear(GL30.GL_COLOR_BUFFER_BIT);
         stage.act(delta);
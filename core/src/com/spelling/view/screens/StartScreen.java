@@ -6,14 +6,13 @@ import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.graphics.GL30;
 import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.Stage;
-import com.badlogic.gdx.scenes.scene2d.ui.Image;
 import com.badlogic.gdx.scenes.scene2d.ui.ImageButton;
 import com.badlogic.gdx.scenes.scene2d.ui.Table;
 import com.badlogic.gdx.scenes.scene2d.utils.ChangeListener;
 import com.badlogic.gdx.scenes.scene2d.utils.Drawable;
-import com.badlogic.gdx.scenes.scene2d.utils.TextureRegionDrawable;
 import com.spelling.view.AssetManager;
 import com.spelling.view.GdxGame;
+import com.spelling.view.SoundCache;
 import com.spelling.viewmodel.ScreenManager;
 
 /**
@@ -27,7 +26,6 @@ public class StartScreen implements Screen {
     public StartScreen(GdxGame gdxGame) {
         this.game = gdxGame;
         stage = new Stage(gdxGame.viewport, gdxGame.batch);
-        Gdx.input.setInputProcessor(stage);
 
         setStage();
     }
@@ -37,28 +35,31 @@ public class StartScreen implements Screen {
         mainTable.setBounds(0, 0, GdxGame.virtualWidth, GdxGame.virtualHeight);
         stage.addActor(mainTable);
 
-        clickSound = Gdx.audio.newSound(Gdx.files.internal("sounds/switch2.ogg"));
+        clickSound = SoundCache.getEffect("switch2.ogg");
 
-        Image background = new Image(AssetManager.getTextureRegion("StartScreenBackground"));
-        mainTable.setBackground(background.getDrawable());
+        mainTable.setBackground(AssetManager.getDrawable("StartScreenBackground"));
 
-        Drawable drawable = new TextureRegionDrawable(AssetManager.getTextureRegion("TeacherButtonSkin"));
+        Drawable drawable = AssetManager.getDrawable("TeacherButtonSkin");
         ImageButton teacherButton = new ImageButton(drawable);
         teacherButton.addListener(new ChangeListener() {
             @Override
             public void changed(ChangeEvent event, Actor actor) {
                 clickSound.play();
-                ScreenManager.setScreen(new TeacherScreen(StartScreen.this.game));
+                TeacherScreen screen = ScreenManager.getScreen(TeacherScreen.class);
+                screen.selectTeachers();
+                ScreenManager.setScreen(screen);
             }
         });
 
-        drawable = new TextureRegionDrawable(AssetManager.getTextureRegion("StudentButtonSkin"));
+        drawable = AssetManager.getDrawable("StudentButtonSkin");
         ImageButton studentButton = new ImageButton(drawable);
         studentButton.addListener(new ChangeListener() {
             @Override
             public void changed(ChangeEvent event, Actor actor) {
                 clickSound.play();
-                ScreenManager.setScreen(new StudentScreen(StartScreen.this.game));
+                StudentScreen screen = ScreenManager.getScreen(StudentScreen.class);
+                screen.selectTeachers();
+                ScreenManager.setScreen(screen);
             }
         });
 
@@ -85,6 +86,7 @@ public class StartScreen implements Screen {
     @Override
     public void show() {
         Gdx.input.setInputProcessor(stage);
+        GdxGame.setRenderOnDemand(true);
     }
 
     @Override
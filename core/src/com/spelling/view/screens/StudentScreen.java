@@ -8,10 +8,10 @@ import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.ui.Table;
 import com.badlogic.gdx.scenes.scene2d.utils.ChangeListener;
-import com.badlogic.gdx.scenes.scene2d.utils.TextureRegionDrawable;
 import com.spelling.model.DataManager;
 import com.spelling.view.AssetManager;
 import com.spelling.view.GdxGame;
+import com.spelling.view.SoundCache;
 import com.spelling.view.games.SpellingGameScreen;
 import com.spelling.viewmodel.ScreenManager;
 
@@ -27,7 +27,6 @@ public class StudentScreen implements Screen {
     public StudentScreen(GdxGame gdxGame) {
         this.game = gdxGame;
         stage = new Stage(gdxGame.viewport, gdxGame.batch);
-        Gdx.input.setInputProcessor(stage);
 
         setStage();
     }
@@ -35,18 +34,18 @@ public class StudentScreen implements Screen {
     private void setStage() {
         mainTable = new Table();
         mainTable.top().left().setBounds(0, 0, GdxGame.virtualWidth, GdxGame.virtualHeight);
-        mainTable.setBackground(new TextureRegionDrawable(AssetManager.getTextureRegion("background")));
+        mainTable.setBackground(AssetManager.getDrawable("background"));
         stage.addActor(mainTable);
 
-        clickSound = Gdx.audio.newSound(Gdx.files.internal("sounds/switch2.ogg"));
+        clickSound = SoundCache.getEffect("switch2.ogg");
 
         selectTeachers();
     }
 
     /**
-     * Shows all of the teachers.
+     * Shows all of the teachers. The screen is kept between visits, so this also starts it over.
      */
-    private void selectTeachers() {
+    void selectTeachers() {
         String titleText = "Select a teacher to see their students.";
         if (DataManager.getTeachers().size() == 0) {
             titleText = "Go back and create a teacher first.";
@@ -55,7 +54,7 @@ public class StudentScreen implements Screen {
             @Override
             public void changed(ChangeEvent event, Actor actor) {
                 clickSound.play();
-                ScreenManager.setScreen(new StartScreen(StudentScreen.this.game));
+                ScreenManager.setScreen(ScreenManager.getScreen(StartScreen.class));
             }
         };
         ChangeListener doAfterSelectItem = new ChangeListener() {
@@ -138,6 +137,7 @@ public class StudentScreen implements Screen {
     @Override
     public void show() {
         Gdx.input.setInputProcessor(stage);
+        GdxGame.setRenderOnDemand(true);
     }
 
     @Override
@@ -154,7 +154,6 @@ public class StudentScreen implements Screen {
 
     @Override
     public void dispose() {
-        clickSound.dispose();
         stage.dispose();
     }
 }
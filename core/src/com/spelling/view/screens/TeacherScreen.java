@@ -8,10 +8,10 @@ import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.ui.Table;
 import com.badlogic.gdx.scenes.scene2d.utils.ChangeListener;
-import com.badlogic.gdx.scenes.scene2d.utils.TextureRegionDrawable;
 import com.spelling.model.DataManager;
 import com.spelling.view.AssetManager;
 import com.spelling.view.GdxGame;
+import com.spelling.view.SoundCache;
 import com.spelling.viewmodel.ScreenManager;
 
 /**
@@ -19,14 +19,13 @@ import com.spelling.viewmodel.ScreenManager;
  */
 public class TeacherScreen implements Screen {
     private GdxGame game;
-    public static Stage stage;
+    private Stage stage;
     private Table mainTable;
     private Sound clickSound;
 
     public TeacherScreen(GdxGame gdxGame) {
         this.game = gdxGame;
         stage = new Stage(gdxGame.viewport, gdxGame.batch);
-        Gdx.input.setInputProcessor(stage);
 
         setStage();
     }
@@ -34,27 +33,23 @@ public class TeacherScreen implements Screen {
     private void setStage() {
         mainTable = new Table();
         mainTable.top().left().setBounds(0, 0, GdxGame.virtualWidth, GdxGame.virtualHeight);
-        mainTable.setBackground(new TextureRegionDrawable(AssetManager.getTextureRegion("background")));
+        mainTable.setBackground(AssetManager.getDrawable("background"));
         stage.addActor(mainTable);
 
-        clickSound = Gdx.audio.newSound(Gdx.files.internal("sounds/switch2.ogg"));
+        clickSound = SoundCache.getEffect("switch2.ogg");
 
         selectTeachers();
     }
 
     /**
-     * Shows all of the teachers.
+     * Shows all of the teachers. The screen is kept between visits, so this also starts it over.
      */
-    private void selectTeachers() {
-        String titleText = "Select a teacher to see their students.";
-        if (DataManager.getTeachers().size() == 0) {
-            titleText = "Add a teacher to see their students.";
-        }
+    void selectTeachers() {
         ChangeListener doOnBackButton = new ChangeListener() {
             @Override
             public void changed(ChangeEvent event, Actor actor) {
                 clickSound.play();
-                ScreenManager.setScreen(new StartScreen(TeacherScreen.this.game));
+                ScreenManager.setScreen(ScreenManager.getScreen(StartScreen.class));
             }
         };
         ChangeListener doAfterSelectItem = new ChangeListener() {
@@ -69,22 +64,18 @@ public class TeacherScreen implements Screen {
         ChangeListener doAfterAddRemove = new ChangeListener() {
             @Override
             public void changed(ChangeEvent event, Actor actor) {
-                TeacherScreen.this.selectTeachers();
+                ScreenManager.setTitle(mainTable, getTeachersTitle());
             }
         };
 
         mainTable.clearChildren();
-        mainTable.addActor(ScreenManager.screenFactory(ScreenManager.ScreenType.TEACHERS, titleText, doOnBackButton, doAfterSelectItem, addItemInfoText, doAfterAddRemove));
+        mainTable.addActor(ScreenManager.screenFactory(ScreenManager.ScreenType.TEACHERS, getTeachersTitle(), doOnBackButton, doAfterSelectItem, addItemInfoText, doAfterAddRemove));
     }
 
     /**
      * Shows the students under the selected teacher.
      */
     private void selectStudents() {
-        String titleText = "Select a student to see their history.";
-        if (ScreenManager.getSelectedTeacher().getStudents().size() == 0) {
-            titleText = "No students. Add a student.";
-        }
         ChangeListener doOnBackButton = new ChangeListener() {
             @Override
             public void changed(ChangeEvent event, Actor actor) {
@@ -105,12 +96,26 @@ public class TeacherScreen implements Screen {
             @Override
             public void changed(ChangeEvent event, Actor actor) {
                 clickSound.play();
-                TeacherScreen.this.selectStudents();
+                ScreenManager.setTitle(mainTable, getStudentsTitle());
             }
         };
 
         mainTable.clearChildren();
-        mainTable.addActor(ScreenManager.screenFactory(ScreenManager.ScreenType.STUDENTS, titleText, doOnBackButton, doAfterSelectItem, addItemInfoText, doAfterAddRemove));
+        mainTable.addActor(ScreenManager.screenFactory(ScreenManager.ScreenType.STUDENTS, getStudentsTitle(), doOnBackButton, doAfterSelectItem, addItemInfoText, doAfterAddRemove));
+    }
+
+    private String getTeachersTitle() {
+        if (DataManager.getTeachers().size() == 0) {
+            return "Add a teacher to see their students.";
+        }
+        return "Select a teacher to see their students.";
+    }
+
+    private String getStudentsTitle() {
+        if (ScreenManager.getSelectedTeacher().getStudents().size() == 0) {
+            return "No students. Add a student.";
+        }
+        return "Select a student to see their history.";
     }
 
     /**
@@ -146,6 +151,7 @@ public class TeacherScreen implements Screen {
     @Override
     public void show() {
         Gdx.input.setInputProcessor(stage);
+        GdxGame.setRenderOnDemand(true);
     }
 
     @Override
@@ -162,7 +168,6 @@ public class TeacherScreen implements Screen {
 
     @Override
     public void dispose() {
-        clickSound.dispose();
         stage.dispose();
     }
 }
@@ -0,0 +1,125 @@
+package com.spelling.viewmodel;
+
+import com.badlogic.gdx.Gdx;
+import com.spelling.model.Language;
+import com.spelling.model.LanguagePack;
+import com.spelling.model.LanguagePack.LetterGroup;
+import com.spelling.model.SyllableTokenizer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Locale;
+
+/**
+ * The letters of a language as the Spelling Game shows them, each numbered with a token. Spellings are checked as
+ * token sequences, one token per space, so letters that write the same text are told apart: the consonant "s" and
+ * the tone "muS", or "n" + "ts" and "nts".
+ */
+public class Alphabet {
+    /**
+     * The token of a space that stays empty, such as between the syllables of "mos lwj".
+     */
+    public static final int EMPTY = SyllableTokenizer.SPACE;
+    /**
+     * The token of text that is not in the alphabet. It never matches a space.
+     */
+    public static final int UNKNOWN = -2;
+
+    // By language id, so a word pack opened again finds the alphabets of its languages.
+    private static final HashMap<String, Alphabet> alphabets = new HashMap<String, Alphabet>();
+
+    private final LanguagePack pack;
+    private final ArrayList<String> spellings = new ArrayList<String>();
+    private final HashMap<String, Integer> tokensByName = new HashMap<String, Integer>();
+    private final HashMap<String, Integer> letters = new HashMap<String, Integer>();
+    private final SyllableTokenizer tokenizer;
+    private final HashMap<String, int[]> wordTokens = new HashMap<String, int[]>();
+
+    /**
+     * The alphabet of a language, built from its language pack the first time and again if the pack was reloaded.
+     */
+    public static Alphabet get(Language language) {
+        Alphabet alphabet = alphabets.get(language.getId());
+        if (alphabet == null || alphabet.pack != language.getPack()) {
+            alphabet = new Alphabet(language.getPack());
+            alphabets.put(language.getId(), alphabet);
+        }
+        return alphabet;
+    }
+
+    /**
+     * Forgets every alphabet, when the game closes.
+     */
+    public static void clear() {
+        alphabets.clear();
+    }
+
+    private Alphabet(LanguagePack pack) {
+        this.pack = pack;
+        tokenizer = pack.getTokenizer();
+        if (tokenizer == null) {
+            add(LetterGroup.LETTER, pack.getLetters(LetterGroup.LETTER));
+        } else { // Numbered in the same order as the tokenizer numbers them.
+            add(LetterGroup.CONSONANT, pack.getLetters(LetterGroup.CONSONANT));
+            add(LetterGroup.VOWEL, pack.getLetters(LetterGroup.VOWEL));
+            add(LetterGroup.TONE, pack.getLetters(LetterGroup.TONE));
+        }
+    }
+
+    private void add(String role, String[] names) {
+        for (String name : names) {
+            String spelling = LanguagePack.spell(role, name);
+            int token = spellings.size();
+            spellings.add(spelling);
+            tokensByName.put(name, token);
+            if (!letters.containsKey(spelling)) {
+                letters.put(spelling, token);
+            }
+        }
+    }
+
+    /**
+     * The token of a letter of the alphabet, by the name shown on it, or UNKNOWN.
+     */
+    public int getToken(String letterName) {
+        Integer token = tokensByName.get(letterName);
+        return token == null ? UNKNOWN : token;
+    }
+
+    /**
+     * How a token is written in a word: a tone is written as the last letter of its name.
+     */
+    public String getSpelling(int token) {
+        return token >= 0 && token < spellings.size() ? spellings.get(token) : " ";
+    }
+
+    /**
+     * The token each space of a spelling needs, split once and kept for the next time the word comes up. Syllable
+     * languages are split into consonant, vowel and tone by a SyllableTokenizer. Spaces between words are EMPTY, and
+     * text that is not in the alphabet is UNKNOWN.
+     */
+    public int[] getTokens(String spelling) {
+        int[] tokens = wordTokens.get(spelling);
+        if (tokens == null) {
+            tokens = split(spelling.toLowerCase(Locale.ROOT));
+            wordTokens.put(spelling, tokens);
+        }
+        return tokens;
+    }
+
+    private int[] split(String spelling) {
+        if (tokenizer != null) {
+            int[] tokens = tokenizer.tokenize(spelling);
+            if (tokens != null) {
+                return tokens;
+            }
+            Gdx.app.error("Alphabet", spelling + " cannot be split into letters");
+        }
+        int[] tokens = new int[spelling.length()];
+        for (int i = 0; i < tokens.length; i++) {
+            Integer letter = letters.get(spelling.substring(i, i + 1));
+            tokens[i] = spelling.charAt(i) == ' ' ? EMPTY : letter == null ? UNKNOWN : letter;
+        }
+        return tokens;
+    }
+}
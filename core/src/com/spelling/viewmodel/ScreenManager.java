@@ -1,43 +1,138 @@
 package com.spelling.viewmodel;
 
+import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.InputEvent;
 import com.badlogic.gdx.scenes.scene2d.ui.*;
 import com.badlogic.gdx.scenes.scene2d.utils.ChangeListener;
 import com.badlogic.gdx.scenes.scene2d.utils.ClickListener;
 import com.badlogic.gdx.utils.Align;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.SnapshotArray;
+import com.badlogic.gdx.utils.reflect.ClassReflection;
+import com.badlogic.gdx.utils.reflect.ReflectionException;
 import com.spelling.model.DataManager;
 import com.spelling.model.History;
+import com.spelling.model.Language;
 import com.spelling.model.Student;
 import com.spelling.model.Teacher;
 import com.spelling.view.AssetManager;
 import com.spelling.view.GdxGame;
-import com.spelling.view.screens.TeacherScreen;
+import com.spelling.view.SoundCache;
+import com.spelling.view.actors.RecyclingList;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 
 /**
  * Creates screens and manages the global state variables. Stores a previous screen when appropriate.
+ * <p>
+ * The menu screens are light, so one of each is made the first time it is asked for and kept for the rest of the
+ * run. Any other screen, such as a game with its music and frame buffer, is disposed as soon as it is left, unless it
+ * is the previous screen to come back to.
  */
 public class ScreenManager {
+    private static final String TAG = "ScreenManager";
+    private static final String TITLE_NAME = "title";
+    private static final String DEFAULT_LANGUAGE = "hmong";
+
     public static Language selectedLanguage;
-    public static int selectedTeacherIndex;
+    public static long selectedTeacherId;
     public static String selectedTeacherName;
-    public static int selectedStudentIndex;
+    public static long selectedStudentId;
     public static String selectedStudentName;
 
     private static GdxGame game;
     private static Screen previousScreen;
+    private static HashMap<Class<? extends Screen>, Screen> keptScreens = new HashMap<Class<? extends Screen>, Screen>();
+    // Screens that have been shown and not disposed yet, each with its own stage.
+    private static ArrayList<Screen> liveScreens = new ArrayList<Screen>();
 
-    public static void start(GdxGame gdxGame, Screen firstScreen) {
+    public static void start(GdxGame gdxGame, Class<? extends Screen> firstScreen) {
         ScreenManager.game = gdxGame;
-        selectedLanguage = Language.HMONG;
-        setScreen(firstScreen);
+        selectedLanguage = DataManager.getLanguage(DEFAULT_LANGUAGE);
+        if (selectedLanguage == null && DataManager.getLanguages().length > 0) {
+            selectedLanguage = DataManager.getLanguages()[0];
+        }
+        setScreen(getScreen(firstScreen));
+    }
+
+    /**
+     * The one screen of a type that is kept for reuse, made the first time it is asked for. The type needs a
+     * constructor taking the game.
+     */
+    public static <T extends Screen> T getScreen(Class<T> type) {
+        Screen screen = keptScreens.get(type);
+        if (screen == null) {
+            try {
+                screen = (Screen) ClassReflection.getConstructor(type, GdxGame.class).newInstance(game);
+            } catch (ReflectionException e) {
+                throw new GdxRuntimeException("Screen could not be made: " + type.getName(), e);
+            }
+            keptScreens.put(type, screen);
+        }
+        return type.cast(screen);
     }
 
+    /**
+     * Shows a screen, which then gets the input. The screen that was showing is disposed unless it is kept or is the
+     * previous screen. As this is usually called from one of that screen's own listeners, it is disposed after the
+     * current frame.
+     */
     public static void setScreen(Screen next) {
+        final Screen current = game.getScreen();
+        if (next == current) {
+            return;
+        }
+        if (next != null && !liveScreens.contains(next)) {
+            liveScreens.add(next);
+        }
         game.setScreen(next);
+        if (current != null && current != previousScreen && !keptScreens.containsValue(current)) {
+            Gdx.app.postRunnable(new Runnable() {
+                @Override
+                public void run() {
+                    liveScreens.remove(current);
+                    current.dispose();
+                    Gdx.app.debug(TAG, getLeakReport());
+                }
+            });
+        }
+        Gdx.app.debug(TAG, getLeakReport());
+    }
+
+    /**
+     * What is holding resources that have to be disposed: the live screens and their stages, the managed textures
+     * and the loaded sounds. The counts should stay flat however often the screens are switched.
+     */
+    public static String getLeakReport() {
+        StringBuilder report = new StringBuilder();
+        report.append("Live screens and stages: ").append(liveScreens.size()).append(" (");
+        for (int i = 0; i < liveScreens.size(); i++) {
+            if (i > 0) report.append(", ");
+            report.append(liveScreens.get(i).getClass().getSimpleName());
+        }
+        report.append("), textures: ").append(Texture.getNumManagedTextures());
+        report.append(", sounds: ").append(SoundCache.getLoadedCount());
+        return report.toString();
+    }
+
+    public static int getLiveScreenCount() {
+        return liveScreens.size();
+    }
+
+    /**
+     * Disposes every screen that is still live, when the game closes.
+     */
+    public static void dispose() {
+        for (Screen screen : liveScreens) {
+            screen.dispose();
+        }
+        liveScreens.clear();
+        keptScreens.clear();
+        previousScreen = null;
     }
 
     public static void setPreviousScreen(Screen previousScreen) {
@@ -49,39 +144,40 @@ public class ScreenManager {
     }
 
     public static Teacher getSelectedTeacher() {
-        return DataManager.getTeachers().get(selectedTeacherIndex);
+        return DataManager.getTeacher(selectedTeacherId);
     }
 
     public static Student getSelectedStudent() {
-        return DataManager.getStudents(ScreenManager.selectedTeacherIndex).get(ScreenManager.selectedStudentIndex);
+        return DataManager.getStudent(selectedStudentId);
     }
 
     /**
      * Creates a table that is all parts of the non-game screens.
-     * The name of each button is the list index for that button's function.
+     * The name of each button is the ID of the teacher or student it acts on, or the list index of a history.
+     * Lists only have rows for what is in view, and adding or removing an item only changes the rows after it.
+     * Teachers and students can be searched for by the start of their name.
      *
      * @param screenType        What kind of screen.
      * @param titleText         Text for the title of the screen.
      * @param doOnBackButton    Do this after back button is pressed.
      * @param doAfterSelectItem Do this after an item is selected.
      * @param addItemInfoText   Info text for the default name in the add item field.
-     * @param doAfterAddRemove  Do this after an item has been added or removed.
+     * @param doAfterAddRemove  Do this after an item has been added or removed. The list already shows the change.
      * @return A table to be used as a screen.
      */
-    public static Table screenFactory(ScreenType screenType, String titleText, ChangeListener doOnBackButton, ChangeListener doAfterSelectItem, String addItemInfoText, ChangeListener doAfterAddRemove) {
+    public static Table screenFactory(final ScreenType screenType, String titleText, ChangeListener doOnBackButton, final ChangeListener doAfterSelectItem, final String addItemInfoText, final ChangeListener doAfterAddRemove) {
         int backButtonSize = 150;
 
         Table mainTable = new Table();
         mainTable.setBounds(0, 0, GdxGame.virtualWidth, GdxGame.virtualHeight);
         Label titleLabel = new Label(titleText, AssetManager.labelStyle64Clear);
         titleLabel.setBounds(300, mainTable.getHeight() - 220, mainTable.getWidth() - 600, 200);
+        titleLabel.setName(TITLE_NAME);
         mainTable.addActor(titleLabel);
         Table bodyTable = new Table();
         bodyTable.setBounds(300, mainTable.getHeight() - 750 - 250, mainTable.getWidth() - 600, 750);
         mainTable.addActor(bodyTable);
-        VerticalGroup verticalGroup = new VerticalGroup();
-        verticalGroup.align(Align.topLeft);
-        ScrollPane scrollPane = new ScrollPane(verticalGroup, AssetManager.defaultSkin);
+        final ScrollPane scrollPane = new ScrollPane(null, AssetManager.defaultSkin);
         scrollPane.setScrollingDisabled(true, false);
         scrollPane.setFadeScrollBars(false);
 
@@ -91,22 +187,118 @@ public class ScreenManager {
         backButton.addListener(doOnBackButton);
         mainTable.addActor(backButton);
 
-        int rowHeight = 100;
-        int rowSeparator = 25;
-        Table aDataRow = new Table();
+        final int rowHeight = 100;
+        final int rowSeparator = 25;
 
         switch (screenType) {
             case TEACHERS:
             case STUDENTS:
-                boolean allowChanges = !(addItemInfoText == null);
-                int nameWidth = 800;
-                int columnSeparator = 75;
-                int buttonWidth = 300;
+                final boolean allowChanges = !(addItemInfoText == null);
+                final int nameWidth = 800;
+                final int columnSeparator = 75;
+                final int buttonWidth = 300;
+                final long teacherId = selectedTeacherId;
+
+                // The list shows the run of teachers or students whose names start with what is in the search field.
+                final TextField searchField = new TextField("", AssetManager.textFieldStyle64);
+                searchField.setMessageText("Search");
+                final int[] range = new int[2];
+                findItems(screenType, teacherId, "", range);
+
+                // Only the rows in view are made, and bound to a teacher or student as the list scrolls.
+                final RecyclingList list = new RecyclingList(new RecyclingList.Adapter() {
+                    @Override
+                    public int getCount() {
+                        return range[1] - range[0];
+                    }
+
+                    @Override
+                    public Actor newRow() {
+                        Table aDataRow = new Table();
+
+                        // Button for selecting a teacher or student.
+                        TextButton nameButton = new TextButton("", AssetManager.textButtonStyle64);
+                        nameButton.getLabel().setAlignment(Align.left);
+                        nameButton.addListener(new ChangeListener() {
+                            @Override
+                            public void changed(ChangeEvent event, Actor actor) {
+                                if (screenType == ScreenType.TEACHERS) {
+                                    selectedTeacherId = Long.parseLong(actor.getName());
+                                    selectedTeacherName = getSelectedTeacher().getName();
+                                } else {
+                                    selectedStudentId = Long.parseLong(actor.getName());
+                                    selectedStudentName = getSelectedStudent().getName();
+                                }
+                            }
+                        });
+                        nameButton.addListener(doAfterSelectItem);
+                        aDataRow.add(nameButton).width(nameWidth).height(rowHeight);
+
+                        // Button for removing a teacher or student.
+                        if (allowChanges) {
+                            TextButton deleteButton = new TextButton("Delete", AssetManager.textButtonStyle64);
+                            deleteButton.addListener(new ChangeListener() {
+                                @Override
+                                public void changed(ChangeEvent event, Actor actor) {
+                                    long id = Long.parseLong(actor.getName());
+                                    int index;
+                                    if (screenType == ScreenType.TEACHERS) {
+                                        index = DataManager.getTeachers().indexOf(DataManager.getTeacher(id));
+                                        DataManager.removeTeacher(id);
+                                    } else {
+                                        index = DataManager.getStudents(teacherId).indexOf(DataManager.getStudent(id));
+                                        DataManager.removeStudent(teacherId, id);
+                                    }
+                                    findItems(screenType, teacherId, searchField.getText(), range);
+                                    actor.firstAscendant(RecyclingList.class).itemsChanged(Math.max(0, index - range[0]));
+                                }
+                            });
+                            deleteButton.addListener(doAfterAddRemove);
+                            aDataRow.add().width(columnSeparator);
+                            aDataRow.add(deleteButton).width(buttonWidth).height(rowHeight);
+                        }
+
+                        aDataRow.row();
+                        aDataRow.add().height(rowSeparator);
+                        return aDataRow;
+                    }
+
+                    @Override
+                    public void bindRow(Actor row, int index) {
+                        String name;
+                        long id;
+                        if (screenType == ScreenType.TEACHERS) {
+                            Teacher teacher = DataManager.getTeachers().get(range[0] + index);
+                            name = teacher.getName();
+                            id = teacher.getId();
+                        } else {
+                            Student student = DataManager.getStudents(teacherId).get(range[0] + index);
+                            name = student.getName();
+                            id = student.getId();
+                        }
+                        SnapshotArray<Actor> buttons = ((Table) row).getChildren();
+                        ((TextButton) buttons.get(0)).setText(name);
+                        for (Actor button : buttons) {
+                            button.setName(String.valueOf(id));
+                        }
+                    }
+                }, rowHeight + rowSeparator);
+                scrollPane.setWidget(list);
+
+                searchField.addListener(new ChangeListener() {
+                    @Override
+                    public void changed(ChangeEvent event, Actor actor) {
+                        findItems(screenType, teacherId, searchField.getText(), range);
+                        list.itemsChanged(0);
+                        scrollPane.setScrollY(0);
+                    }
+                });
 
                 // If the screen allows changes to entries, have first row be the add entry row.
                 if (allowChanges) {
-                    aDataRow.background(AssetManager.backPlate);
-                    aDataRow.pad(10);
+                    Table addItemRow = new Table();
+                    addItemRow.background(AssetManager.backPlate);
+                    addItemRow.pad(10);
 
                     final TextField addItemField = new TextField(addItemInfoText, AssetManager.textFieldStyle64);
                     addItemField.addListener(new ClickListener() {
@@ -122,252 +314,208 @@ public class ScreenManager {
 
                     // Button will add a new teacher or student with the string in the text field as the name.
                     TextButton addButton = new TextButton("Add", AssetManager.textButtonStyle64);
-                    switch (screenType) {
-                        case TEACHERS:
-                            addButton.addListener(new ChangeListener() {
-                                @Override
-                                public void changed(ChangeEvent event, Actor actor) {
-                                    DataManager.addTeacher(new Teacher(addItemField.getText()));
-                                }
-                            });
-                            break;
-                        case STUDENTS:
-                            addButton.addListener(new ChangeListener() {
-                                @Override
-                                public void changed(ChangeEvent event, Actor actor) {
-                                    DataManager.addStudent(selectedTeacherIndex, new Student(addItemField.getText()));
-                                }
-                            });
-                            break;
-                    }
+                    addButton.addListener(new ChangeListener() {
+                        @Override
+                        public void changed(ChangeEvent event, Actor actor) {
+                            int index;
+                            if (screenType == ScreenType.TEACHERS) {
+                                Teacher teacher = new Teacher(addItemField.getText());
+                                DataManager.addTeacher(teacher);
+                                index = DataManager.getTeachers().indexOf(teacher);
+                            } else {
+                                Student student = new Student(addItemField.getText());
+                                DataManager.addStudent(teacherId, student);
+                                index = DataManager.getStudents(teacherId).indexOf(student);
+                            }
+                            findItems(screenType, teacherId, searchField.getText(), range);
+                            list.itemsChanged(Math.max(0, index - range[0]));
+                            addItemField.setText(addItemInfoText);
+                            addItemField.selectAll();
+                        }
+                    });
                     addButton.addListener(doAfterAddRemove);
 
-                    aDataRow.add(addItemField).width(nameWidth).height(rowHeight).left();
-                    aDataRow.add().width(columnSeparator);
-                    aDataRow.add(addButton).width(buttonWidth).height(rowHeight);
-                    bodyTable.add(aDataRow).left();
+                    addItemRow.add(addItemField).width(nameWidth).height(rowHeight).left();
+                    addItemRow.add().width(columnSeparator);
+                    addItemRow.add(addButton).width(buttonWidth).height(rowHeight);
+                    bodyTable.add(addItemRow).left();
                     bodyTable.row();
                 }
 
-                // Make a row for each entry of either teachers or students.
-                switch (screenType) {
-                    case TEACHERS:
-                        final ArrayList<Teacher> teachers = DataManager.getTeachers();
-                        for (int i = 0; i < teachers.size(); i++) { // Make a data row for each teacher.
-                            aDataRow = new Table();
-
-                            // Button for selecting a teacher.
-                            TextButton nameButton = new TextButton(teachers.get(i).getName(), AssetManager.textButtonStyle64);
-                            nameButton.setName(String.valueOf(i));
-                            nameButton.getLabel().setAlignment(Align.left);
-                            nameButton.addListener(new ChangeListener() {
-                                @Override
-                                public void changed(ChangeEvent event, Actor actor) {
-                                    selectedTeacherIndex = Integer.parseInt(actor.getName());
-                                    selectedTeacherName = DataManager.getTeachers().get(selectedTeacherIndex).getName();
-                                }
-                            });
-                            nameButton.addListener(doAfterSelectItem);
-                            aDataRow.add(nameButton).width(nameWidth).height(rowHeight);
-
-                            // Button for removing a teacher.
-                            if (allowChanges) {
-                                TextButton deleteButton = new TextButton("Delete", AssetManager.textButtonStyle64);
-                                deleteButton.setName(String.valueOf(i));
-                                deleteButton.addListener(new ChangeListener() {
-                                    @Override
-                                    public void changed(ChangeEvent event, Actor actor) {
-                                        DataManager.removeTeacher(Integer.parseInt(actor.getName()));
-                                    }
-                                });
-                                deleteButton.addListener(doAfterAddRemove);
-                                aDataRow.add().width(columnSeparator);
-                                aDataRow.add(deleteButton).width(buttonWidth).height(rowHeight);
-                            }
-
-                            aDataRow.row();
-                            aDataRow.add().height(rowSeparator);
-                            verticalGroup.addActor(aDataRow);
-                        }
-                        break;
-                    case STUDENTS:
-                        final ArrayList<Student> students = DataManager.getStudents(selectedTeacherIndex);
-                        for (int i = 0; i < students.size(); i++) { // Make a data row for each student.
-                            aDataRow = new Table();
-
-                            // Button for selecting a student.
-                            TextButton nameButton = new TextButton(students.get(i).getName(), AssetManager.textButtonStyle64);
-                            nameButton.setName(String.valueOf(i));
-                            nameButton.getLabel().setAlignment(Align.left);
-                            nameButton.addListener(new ChangeListener() {
-                                @Override
-                                public void changed(ChangeEvent event, Actor actor) {
-                                    selectedStudentIndex = Integer.parseInt(actor.getName());
-                                    selectedStudentName = DataManager.getStudents(selectedTeacherIndex).get(selectedStudentIndex).getName();
-                                }
-                            });
-                            nameButton.addListener(doAfterSelectItem);
-                            aDataRow.add(nameButton).width(nameWidth).height(rowHeight);
-
-                            // Button for removing a student.
-                            if (allowChanges) {
-                                TextButton deleteButton = new TextButton("Delete", AssetManager.textButtonStyle64);
-                                deleteButton.setName(String.valueOf(i));
-                                deleteButton.addListener(new ChangeListener() {
-                                    @Override
-                                    public void changed(ChangeEvent event, Actor actor) {
-                                        DataManager.removeStudent(selectedTeacherIndex, Integer.parseInt(actor.getName()));
-                                    }
-                                });
-                                deleteButton.addListener(doAfterAddRemove);
-                                aDataRow.add().width(columnSeparator);
-                                aDataRow.add(deleteButton).width(buttonWidth).height(rowHeight);
-                            }
-
-                            aDataRow.row();
-                            aDataRow.add().height(rowSeparator);
-                            verticalGroup.addActor(aDataRow);
-                        }
-                        break;
-                }
+                Table searchRow = new Table();
+                searchRow.background(AssetManager.backPlate);
+                searchRow.pad(10);
+                searchRow.add(searchField).width(allowChanges ? nameWidth + columnSeparator + buttonWidth : nameWidth).height(rowHeight);
+                bodyTable.add(searchRow).left();
+                bodyTable.row();
 
                 Table backgroundTable = new Table();
                 backgroundTable.background(AssetManager.backPlate);
                 backgroundTable.pad(10);
                 bodyTable.add(backgroundTable);
                 if (allowChanges) {
-                    backgroundTable.add(scrollPane).width(nameWidth + columnSeparator + buttonWidth + 20).height((rowHeight + rowSeparator) * 5);
+                    backgroundTable.add(scrollPane).width(nameWidth + columnSeparator + buttonWidth + 20).height((rowHeight + rowSeparator) * 4);
                 } else {
-                    backgroundTable.add(scrollPane).width(nameWidth + 20).height((rowHeight + rowSeparator) * 6);
+                    backgroundTable.add(scrollPane).width(nameWidth + 20).height((rowHeight + rowSeparator) * 5);
                 }
                 break;
             case HISTORIES:
-                int dateWidth = 400;
-                int gameNameWidth = 500;
-                int numberWidth = 150;
-                columnSeparator = 50;
-
-                final ArrayList<History> histories = DataManager.getHistory(DataManager.getStudents(selectedTeacherIndex).get(selectedStudentIndex));
-                for (int i = 0; i < histories.size(); i++) { // Make a data row for each history.
-                    aDataRow = new Table();
-                    Label dateLabel = new Label(String.valueOf(histories.get(i).getDateString()), AssetManager.labelStyle64Clear);
-                    dateLabel.setAlignment(Align.center);
-                    Label gameNameLabel = new Label(histories.get(i).getGamePlayed(), AssetManager.labelStyle64Clear);
-                    gameNameLabel.setAlignment(Align.center);
-
-                    // Button that shows a dialog of what words were spelled.
-                    TextButton numberOfWordsButton = new TextButton(String.valueOf(histories.get(i).getWordsSpelled().size()), AssetManager.textButtonStyle64);
-                    numberOfWordsButton.setName(String.valueOf(i));
-                    numberOfWordsButton.addListener(new ChangeListener() {
-                        @Override
-                        public void changed(ChangeEvent event, Actor actor) {
-                            StringBuilder wordList = new StringBuilder();
-                            wordList.append("Words Spelled:\n");
-                            ArrayList<String> wordsSpelled = histories.get(Integer.parseInt(actor.getName())).getWordsSpelled();
-                            for (int j = 1; j <= wordsSpelled.size(); j++) {
-                                wordList.append(wordsSpelled.get(j - 1));
-                                if (j != wordsSpelled.size()) wordList.append(", "); // last item, do not add a comma
-                                if (j % 3 == 0) wordList.append("\n"); // every third, add a new line
+                final int dateWidth = 400;
+                final int gameNameWidth = 500;
+                final int numberWidth = 150;
+                final int historyColumnSeparator = 50;
+
+                final Student student = getSelectedStudent();
+                final ArrayList<History> histories = new ArrayList<History>();
+                final RecyclingList historyList = new RecyclingList(new RecyclingList.Adapter() {
+                    @Override
+                    public int getCount() {
+                        return histories.size();
+                    }
+
+                    @Override
+                    public Actor newRow() {
+                        Table aDataRow = new Table();
+                        Label dateLabel = new Label("", AssetManager.labelStyle64Clear);
+                        dateLabel.setAlignment(Align.center);
+                        Label gameNameLabel = new Label("", AssetManager.labelStyle64Clear);
+                        gameNameLabel.setAlignment(Align.center);
+
+                        // Button that shows a dialog of what words were spelled.
+                        TextButton numberOfWordsButton = new TextButton("", AssetManager.textButtonStyle64);
+                        numberOfWordsButton.addListener(new ChangeListener() {
+                            @Override
+                            public void changed(ChangeEvent event, Actor actor) {
+                                StringBuilder wordList = new StringBuilder();
+                                wordList.append("Words Spelled:\n");
+                                ArrayList<String> wordsSpelled = histories.get(Integer.parseInt(actor.getName())).getWordsSpelled();
+                                for (int j = 1; j <= wordsSpelled.size(); j++) {
+                                    wordList.append(wordsSpelled.get(j - 1));
+                                    if (j != wordsSpelled.size()) wordList.append(", "); // last item, do not add a comma
+                                    if (j % 3 == 0) wordList.append("\n"); // every third, add a new line
+                                }
+                                Dialog dialog = new Dialog("", AssetManager.defaultSkin);
+                                dialog.getBackground().setMinWidth(500);
+                                dialog.getBackground().setMinHeight(300);
+                                Label label = new Label(wordList.toString(), AssetManager.labelStyle64Solid);
+                                label.setAlignment(Align.center);
+                                dialog.text(label);
+                                dialog.button(new TextButton("OK", AssetManager.textButtonStyle64));
+                                dialog.show(actor.getStage());
                             }
-                            Dialog dialog = new Dialog("", AssetManager.defaultSkin);
-                            dialog.getBackground().setMinWidth(500);
-                            dialog.getBackground().setMinHeight(300);
-                            Label label = new Label(wordList.toString(), AssetManager.labelStyle64Solid);
-                            label.setAlignment(Align.center);
-                            dialog.text(label);
-                            dialog.button(new TextButton("OK", AssetManager.textButtonStyle64));
-                            dialog.show(TeacherScreen.stage);
-                        }
-                    });
+                        });
+
+                        aDataRow.add(dateLabel).width(dateWidth).height(rowHeight);
+                        aDataRow.add().width(historyColumnSeparator);
+                        aDataRow.add(gameNameLabel).width(gameNameWidth).height(rowHeight);
+                        aDataRow.add().width(historyColumnSeparator);
+                        aDataRow.add(numberOfWordsButton).width(numberWidth).height(rowHeight);
+                        aDataRow.row();
+                        aDataRow.add().height(rowSeparator);
+                        return aDataRow;
+                    }
 
-                    aDataRow.add(dateLabel).width(dateWidth).height(rowHeight);
-                    aDataRow.add().width(columnSeparator);
-                    aDataRow.add(gameNameLabel).width(gameNameWidth).height(rowHeight);
-                    aDataRow.add().width(columnSeparator);
-                    aDataRow.add(numberOfWordsButton).width(numberWidth).height(rowHeight);
-                    aDataRow.row();
-                    aDataRow.add().height(rowSeparator);
-                    verticalGroup.addActor(aDataRow);
-                }
+                    @Override
+                    public void bindRow(Actor row, int index) {
+                        History history = histories.get(index);
+                        SnapshotArray<Actor> columns = ((Table) row).getChildren();
+                        ((Label) columns.get(0)).setText(history.getDateString());
+                        ((Label) columns.get(1)).setText(history.getGamePlayed());
+                        ((TextButton) columns.get(2)).setText(String.valueOf(history.getWordsSpelled().size()));
+                        columns.get(2).setName(String.valueOf(index));
+                    }
+                }, rowHeight + rowSeparator);
+                scrollPane.setWidget(historyList);
+                // Histories still on disk are read off the render thread; the rows fill in once they are loaded.
+                DataManager.loadHistory(student, new Runnable() {
+                    @Override
+                    public void run() {
+                        histories.addAll(DataManager.getHistory(student));
+                        historyList.itemsChanged(0);
+                        Gdx.graphics.requestRendering();
+                    }
+                });
 
                 backgroundTable = new Table();
                 backgroundTable.background(AssetManager.backPlate);
                 backgroundTable.pad(10);
                 bodyTable.add(backgroundTable);
-                backgroundTable.add(scrollPane).width(dateWidth + gameNameWidth + numberWidth + columnSeparator * 2).height((rowHeight + rowSeparator) * 6);
+                backgroundTable.add(scrollPane).width(dateWidth + gameNameWidth + numberWidth + historyColumnSeparator * 2).height((rowHeight + rowSeparator) * 6);
                 break;
             case GAMES:
-                gameNameWidth = 500;
-                int gameNameHeight = 200;
-                columnSeparator = 100;
+                int gameButtonWidth = 500;
+                int gameButtonHeight = 200;
+                int languageSeparator = 100;
 
                 bodyTable.background(AssetManager.backPlate);
                 Table gamesList = new Table();
 
                 TextButton spellingGameButton = new TextButton("Spelling Game", AssetManager.textButtonStyle64);
                 spellingGameButton.addListener(doAfterSelectItem);
-                gamesList.add(spellingGameButton).width(gameNameWidth).height(gameNameHeight);
+                gamesList.add(spellingGameButton).width(gameButtonWidth).height(gameButtonHeight);
 
                 Table languageSelectList = new Table();
 
                 bodyTable.add(languageSelectList);
-                bodyTable.add().width(columnSeparator);
+                bodyTable.add().width(languageSeparator);
                 bodyTable.add(gamesList);
 
-                // Button to select English as the language for the game.
-                TextButton englishButton = new TextButton("English", AssetManager.textButtonStyle64Checked);
-                englishButton.addListener(new ChangeListener() {
-                    @Override
-                    public void changed(ChangeEvent event, Actor actor) {
-                        ScreenManager.selectedLanguage = Language.ENGLISH;
-                    }
-                });
-                languageSelectList.add(englishButton).width(gameNameWidth).height(gameNameHeight);
-                languageSelectList.row();
-
-                // Button to select Hmong as the language for the game.
-                TextButton hmongButton = new TextButton("Hmong", AssetManager.textButtonStyle64Checked);
-                hmongButton.addListener(new ChangeListener() {
-                    @Override
-                    public void changed(ChangeEvent event, Actor actor) {
-                        ScreenManager.selectedLanguage = Language.HMONG;
-                    }
-                });
-                languageSelectList.add(hmongButton).width(gameNameWidth).height(gameNameHeight);
-
-                switch (selectedLanguage) {
-                    case ENGLISH:
-                        englishButton.setChecked(true);
-                        break;
-                    case HMONG:
-                        break;
-                }
+                // A button to select each language of the word pack for the game.
                 ButtonGroup<TextButton> buttonGroup = new ButtonGroup<TextButton>();
                 buttonGroup.setMaxCheckCount(1);
                 buttonGroup.setMinCheckCount(1);
-                buttonGroup.add(englishButton);
-                buttonGroup.add(hmongButton);
+                Language[] languages = DataManager.getLanguages();
+                TextButton[] languageButtons = new TextButton[languages.length];
+                for (int i = 0; i < languages.length; i++) {
+                    languageButtons[i] = new TextButton(languages[i].getName(), AssetManager.textButtonStyle64Checked);
+                    languageSelectList.add(languageButtons[i]).width(gameButtonWidth).height(gameButtonHeight);
+                    languageSelectList.row();
+                    buttonGroup.add(languageButtons[i]);
+                    if (languages[i] == selectedLanguage) {
+                        languageButtons[i].setChecked(true);
+                    }
+                }
+                // Listeners are added once the selected language is checked, so setting up does not change it.
+                for (int i = 0; i < languages.length; i++) {
+                    final Language language = languages[i];
+                    languageButtons[i].addListener(new ChangeListener() {
+                        @Override
+                        public void changed(ChangeEvent event, Actor actor) {
+                            if (((TextButton) actor).isChecked()) {
+                                ScreenManager.selectedLanguage = language;
+                            }
+                        }
+                    });
+                }
                 break;
         }
         return mainTable;
     }
 
     /**
-     * Screen types that can be created by screenFactory.
+     * Finds the teachers, or the students of a teacher, whose names start with the prefix.
+     *
+     * @param range Set to the index of the first found and one past the last.
      */
-    public enum ScreenType {
-        TEACHERS, STUDENTS, HISTORIES, GAMES
+    private static void findItems(ScreenType screenType, long teacherId, String prefix, int[] range) {
+        if (screenType == ScreenType.TEACHERS) {
+            DataManager.findTeachers(prefix, range);
+        } else {
+            DataManager.findStudents(teacherId, prefix, range);
+        }
     }
 
     /**
-     * Supported languages.
+     * Changes the title of a table made by screenFactory, such as when its list was emptied or filled.
      */
-    public enum Language {
-        ENGLISH("English"), HMONG("Hmong");
-        public final String fileName;
+    public static void setTitle(Table screenTable, String titleText) {
+        screenTable.<Label>findActor(TITLE_NAME).setText(titleText);
+    }
 
-        Language(String fileName) {
-            this.fileName = fileName;
-        }
+    /**
+     * Screen types that can be created by screenFactory.
+     */
+    public enum ScreenType {
+        TEACHERS, STUDENTS, HISTORIES, GAMES
     }
 }
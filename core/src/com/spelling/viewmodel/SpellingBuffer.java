@@ -0,0 +1,99 @@
+package com.spelling.viewmodel;
+
+/**
+ * What has been dropped into the spaces of the current word, one token per space, along with a running count of the
+ * spaces that hold the token the word needs there. Placing or removing a letter updates the count, so checking the
+ * word after a drop does not look at the other spaces.
+ * <p>
+ * A space the word needs left empty, such as between the syllables of "mos lwj", has the EMPTY token.
+ */
+public class SpellingBuffer {
+    private final Alphabet alphabet;
+    private int[] target = new int[0];
+    private int[] placed = new int[0];
+    private int length;
+    private int matching;
+    private int filled;
+
+    public SpellingBuffer(Alphabet alphabet) {
+        this.alphabet = alphabet;
+    }
+
+    /**
+     * Starts a new word with every space empty.
+     *
+     * @param targetTokens The token each space needs, from Alphabet.getTokens.
+     */
+    public void reset(int[] targetTokens) {
+        length = targetTokens.length;
+        if (placed.length < length) {
+            placed = new int[length];
+        }
+        target = targetTokens;
+        matching = 0;
+        filled = 0;
+        for (int i = 0; i < length; i++) {
+            placed[i] = Alphabet.EMPTY;
+            if (target[i] == Alphabet.EMPTY) {
+                matching++;
+            }
+        }
+    }
+
+    /**
+     * Puts a token in a space, replacing what was there.
+     */
+    public void set(int space, int token) {
+        if (space >= length) {
+            return;
+        }
+        clear(space);
+        placed[space] = token;
+        filled++;
+        if (target[space] == Alphabet.EMPTY) {
+            matching--;
+        } else if (token == target[space]) {
+            matching++;
+        }
+    }
+
+    public void clear(int space) {
+        if (space >= length || placed[space] == Alphabet.EMPTY) {
+            return;
+        }
+        if (placed[space] == target[space]) {
+            matching--;
+        }
+        placed[space] = Alphabet.EMPTY;
+        filled--;
+        if (target[space] == Alphabet.EMPTY) {
+            matching++;
+        }
+    }
+
+    /**
+     * Whether every space holds the token the word needs there.
+     */
+    public boolean isCorrect() {
+        return matching == length;
+    }
+
+    /**
+     * Whether every space holds a token.
+     */
+    public boolean isFull() {
+        return filled == length;
+    }
+
+    /**
+     * The spaces as text, with a blank for each empty space. For debugging only, as it builds a string.
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(alphabet.getSpelling(placed[i]));
+        }
+        return builder.toString();
+    }
+}
@@ -1,68 +1,127 @@
 package com.spelling.viewmodel;
 
+import com.badlogic.gdx.Application;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.InputEvent;
 import com.badlogic.gdx.scenes.scene2d.actions.Actions;
+import com.badlogic.gdx.utils.TimeUtils;
 import com.spelling.model.DataManager;
 import com.spelling.model.History;
+import com.spelling.model.Language;
+import com.spelling.model.LanguagePack;
 import com.spelling.model.Student;
 import com.spelling.model.Word;
+import com.spelling.view.SoundCache;
 import com.spelling.view.actors.Letter;
 import com.spelling.view.games.SpellingGameScreen;
 
-import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedList;
 import java.util.Random;
 
 /**
  * Handles each letter drop in the Spelling Game.
  */
 public class SpellingGameManager {
+    /**
+     * How many upcoming words are picked early and have their sound decoded in the background while a correct word is
+     * celebrated, unless the screen asks for another depth.
+     */
+    public static final int DEFAULT_LOOK_AHEAD_DEPTH = 1;
+
     private Random random;
     private SpellingGameScreen spellingGameScreen;
-    private ScreenManager.Language currentLanguage;
+    private Language currentLanguage;
+    private LanguagePack languagePack;
     private Student currentStudent;
-    private ArrayList<Word> sessionWordList;
+    private int[] sessionWords; // Word indexes; the first remainingWords have not been drawn yet.
+    private int remainingWords;
     private Word currentWord;
-    private Sound letterClick = Gdx.audio.newSound(Gdx.files.internal("sounds/letter-click.mp3"));
+    private LinkedList<Word> upcomingWords = new LinkedList<Word>();
+    private HashSet<Word> prefetchedWords = new HashSet<Word>();
+    private final int lookAheadDepth;
+    private int prefetchHits;
+    private int prefetchMisses;
+    private Sound letterClick = SoundCache.getEffect("letter-click.mp3");
+    private Alphabet alphabet;
+    private SpellingBuffer spellingBuffer;
 
     public SpellingGameManager(SpellingGameScreen spellingGameScreen) {
+        this(spellingGameScreen, DEFAULT_LOOK_AHEAD_DEPTH);
+    }
+
+    /**
+     * @param lookAheadDepth How many upcoming words to prefetch, see {@link #checkLookAheadDepth(int)}.
+     */
+    public SpellingGameManager(SpellingGameScreen spellingGameScreen, int lookAheadDepth) {
+        this.lookAheadDepth = checkLookAheadDepth(lookAheadDepth);
         this.random = new Random(System.currentTimeMillis());
         this.spellingGameScreen = spellingGameScreen;
 
         this.currentLanguage = ScreenManager.selectedLanguage;
+        this.languagePack = currentLanguage.getPack();
+        this.alphabet = Alphabet.get(currentLanguage);
+        this.spellingBuffer = new SpellingBuffer(alphabet);
         spellingGameScreen.setDisplayLanguage(currentLanguage);
 
         this.currentStudent = ScreenManager.getSelectedStudent();
         this.currentStudent.startNewCurrentHistory(new History("Spelling Game"));
 
-        this.sessionWordList = new ArrayList<Word>(DataManager.getWordList());
+        this.remainingWords = DataManager.getWordCount();
+        this.sessionWords = new int[remainingWords];
+        for (int i = 0; i < remainingWords; i++) {
+            sessionWords[i] = i;
+        }
         changeToNextWord();
     }
 
+    /**
+     * Keeps track of a letter put in a space. Called before droppedLetter.
+     */
+    public void letterPlaced(int space, Letter letter) {
+        spellingBuffer.set(space, letter.getToken());
+    }
+
+    /**
+     * Keeps track of a letter taken out of a space.
+     */
+    public void letterRemoved(int space) {
+        spellingBuffer.clear(space);
+    }
+
     public void droppedLetter(final Actor actor) {
+        final long dropTime = TimeUtils.nanoTime();
         letterClick.play();
-        System.out.println("Current word: " + spellingGameScreen.getWordInSpaces());
-        if (wordIsCorrect()) {
+        if (Gdx.app.getLogLevel() >= Application.LOG_DEBUG) {
+            Gdx.app.debug("SpellingGameManager", "Current word: " + spellingBuffer);
+        }
+        if (spellingBuffer.isCorrect()) {
             recordWord();
             actor.addAction(Actions.sequence(
                     Actions.run(new Runnable() {
                         public void run() {
-                            spellingGameScreen.playLetter(currentLanguage.fileName, (Letter) actor);
+                            spellingGameScreen.playLetter(languagePack.getLetterSounds(), (Letter) actor);
+                            SoundCache.recordLatency(dropTime);
                         }
                     }),
                     Actions.delay(0.5f),
                     Actions.run(new Runnable() {
                         public void run() {
-                            spellingGameScreen.winConfetti(currentWord.getWordId());
+                            spellingGameScreen.winConfetti(currentWord.getPictureKey());
+                        }
+                    }),
+                    Actions.run(new Runnable() {
+                        public void run() {
+                            prefetchUpcomingWords();
                         }
                     }),
                     Actions.delay(0.5f),
                     Actions.run(new Runnable() {
                         public void run() {
                             // Once final correct letter is dropped, say word
-                            spellingGameScreen.playWord(currentLanguage.fileName, currentWord);
+                            spellingGameScreen.playWord(languagePack.getWordSounds(), currentWord);
                         }
                     }),
                     Actions.delay(2f),
@@ -80,30 +139,42 @@ public class SpellingGameManager {
                     })
             ));
         } else { // Word isn't correct (yet): Play letter after every drop
-            spellingGameScreen.playLetter(currentLanguage.fileName, (Letter) actor);
-            if (spellingGameScreen.spacesFull()) { // Spaces full & not correct
+            spellingGameScreen.playLetter(languagePack.getLetterSounds(), (Letter) actor);
+            SoundCache.recordLatency(dropTime);
+            if (spellingBuffer.isFull()) { // Spaces full & not correct
                 // play buzzer SFX
             }
         }
     }
 
-    private boolean wordIsCorrect() {
-        return currentWord.getSpelling(currentLanguage).equalsIgnoreCase(spellingGameScreen.getWordInSpaces());
-    }
-
     private void recordWord() {
-        ScreenManager.getSelectedStudent().addToCurrentHistory(currentWord.getSpelling(currentLanguage));
+        currentStudent.addToCurrentHistory(currentWord.getSpelling(currentLanguage));
     }
 
     /**
      * Change word until all words have been either spelled or skipped over
      */
     public void changeToNextWord() {
-        if (sessionWordList.size() > 1) {
-            sessionWordList.remove(currentWord);
-            currentWord = getNextWord();
+        if (upcomingWords.isEmpty() && remainingWords > 1) {
+            upcomingWords.add(getNextWord());
+        }
+        if (!upcomingWords.isEmpty()) {
+            boolean firstWord = currentWord == null;
+            currentWord = upcomingWords.removeFirst();
+            if (prefetchedWords.remove(currentWord)) {
+                prefetchHits++;
+            } else if (!firstWord) {
+                prefetchMisses++;
+            }
             // Set the amount of spaces for this word and replace the hint popup.
-            spellingGameScreen.setPictureAndSpaceLength(currentWord.getWordId(), currentWord.getSpaceLength(currentLanguage));
+            int spaceLength = currentWord.getSpaceLength(currentLanguage);
+            spellingGameScreen.setPictureAndSpaceLength(currentWord.getPictureKey(), spaceLength);
+            int[] targetTokens = alphabet.getTokens(currentWord.getSpelling(currentLanguage));
+            if (targetTokens.length != spaceLength) {
+                Gdx.app.error("SpellingGameManager", currentWord.getSpelling(currentLanguage) + " splits into "
+                        + targetTokens.length + " letters but has " + spaceLength + " spaces");
+            }
+            spellingBuffer.reset(targetTokens);
             spellingGameScreen.hintPopup.clearActions();
             spellingGameScreen.hintPopup.getColor().a = 0;
             spellingGameScreen.hintPopup.setText(currentWord.getSpelling(currentLanguage));
@@ -112,18 +183,65 @@ public class SpellingGameManager {
         }
     }
 
-    private Word getNextWord() {
-        if (sessionWordList.size() > 1) {
-            return sessionWordList.get(random.nextInt(sessionWordList.size() - 1));
-        } else {
-            return sessionWordList.get(0);
+    /**
+     * Checks a look-ahead depth and lowers it to what SoundCache can hold, so a prefetched sound is not evicted
+     * before its word is shown.
+     *
+     * @throws IllegalArgumentException If the depth is negative.
+     */
+    static int checkLookAheadDepth(int requested) {
+        if (requested < 0) {
+            throw new IllegalArgumentException("Look-ahead depth cannot be negative: " + requested);
         }
+        return Math.min(requested, SoundCache.getPrefetchLimit());
+    }
+
+    /**
+     * Picks the upcoming words and queues their sounds for decoding off the render thread, so the next word swap does
+     * not load anything. Pictures are atlas regions that are already loaded.
+     */
+    private void prefetchUpcomingWords() {
+        while (upcomingWords.size() < lookAheadDepth && remainingWords > 1) {
+            upcomingWords.add(getNextWord());
+        }
+        for (Word word : upcomingWords) {
+            if (prefetchedWords.add(word)) {
+                SoundCache.prefetchWord(languagePack.getWordSounds(), word.getAudioKey());
+            }
+        }
+    }
+
+    /**
+     * Words that were already loaded when they were swapped in.
+     */
+    public int getPrefetchHits() {
+        return prefetchHits;
+    }
+
+    /**
+     * Words that had to be loaded when they were swapped in, such as after a skip.
+     */
+    public int getPrefetchMisses() {
+        return prefetchMisses;
+    }
+
+    /**
+     * Draws a random word that has not been drawn this session. Only the drawn word is decoded.
+     */
+    private Word getNextWord() {
+        int drawn = random.nextInt(remainingWords);
+        int wordIndex = sessionWords[drawn];
+        remainingWords--;
+        sessionWords[drawn] = sessionWords[remainingWords];
+        sessionWords[remainingWords] = wordIndex;
+        return DataManager.getWord(wordIndex);
     }
 
     /**
      * After all words attempted, go back to game screen
      */
     private void gameComplete() {
+        Gdx.app.debug("SpellingGameManager", "Prefetch hits: " + prefetchHits + ", misses: " + prefetchMisses);
         InputEvent event = new InputEvent();
         event.setType(InputEvent.Type.touchDown);
         spellingGameScreen.backButton.fire(event);
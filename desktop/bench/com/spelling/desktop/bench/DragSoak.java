@@ -0,0 +1,107 @@
+package com.spelling.desktop.bench;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.scenes.scene2d.Group;
+import com.badlogic.gdx.scenes.scene2d.Stage;
+import com.badlogic.gdx.scenes.scene2d.ui.Container;
+import com.badlogic.gdx.scenes.scene2d.ui.TextButton;
+import com.spelling.view.actors.Confetti;
+import com.spelling.view.actors.Letter;
+import com.spelling.view.games.SpellingGameScreen;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+/**
+ * Soak run of random drags on the spelling game: letters from the keyboard into spaces, from one space to another
+ * and off the spaces, with a frame after each drag and a skipped word every so often. Every 1000 drags it logs the
+ * drag sources the drag and drop really holds next to getDragSourceCount, and the heap after garbage collection.
+ * Both should stay flat. Confetti bursts from the filled spaces every few drags; the animations group should keep its
+ * one Confetti actor and the pieces in flight should stay within the budget.
+ * <p>
+ * Arguments: drags (10000), drags per skipped word (40), language (hmong), drags per confetti burst (3, 0 for none).
+ */
+public class DragSoak implements Harness.Benchmark {
+    private static final int LOG_INTERVAL = 1000;
+
+    private final int drags;
+    private final int skipInterval;
+    private final String language;
+    private final int burstInterval;
+    private final Random random = new Random(1);
+
+    DragSoak(String[] args) {
+        drags = Harness.intArg(args, 0, 10000);
+        skipInterval = Harness.intArg(args, 1, 40);
+        language = Harness.stringArg(args, 2, "hmong");
+        burstInterval = Harness.intArg(args, 3, 3);
+    }
+
+    public static void main(String[] args) {
+        Harness.start(new DragSoak(args));
+    }
+
+    @Override
+    public void run(Harness harness) {
+        SpellingGameScreen screen = harness.startGame(language);
+        Stage stage = Harness.stageOf(screen);
+        ArrayList<Letter> keys = Harness.keyboardLetters(stage);
+        TextButton skip = Harness.button(stage, "Skip");
+        // Under the spaces, where a dropped letter lands on no space and is taken off.
+        Vector2 offSpaces = stage.stageToScreenCoordinates(new Vector2(Harness.WIDTH / 2, 20));
+        Group animationsGroup = (Group) Harness.field(screen, "animationsGroup");
+        int mismatches = 0;
+        int maxSources = 0;
+        int maxParticles = 0;
+        int maxAnimationActors = 0;
+
+        Harness.log("drag\tsources\tgetDragSourceCount\ttargets\tanimationActors\tparticles\theapMB");
+        for (int i = 1; i <= drags; i++) {
+            ArrayList<Container<Letter>> spaces = Harness.spaces(screen);
+            Container<Letter> filled = randomFilled(spaces);
+            float choice = random.nextFloat();
+            if (filled == null || choice < 0.7f) {
+                Letter key = keys.get(random.nextInt(keys.size()));
+                Harness.drag(stage, key, spaces.get(random.nextInt(spaces.size())));
+            } else if (choice < 0.85f) {
+                Harness.drag(stage, filled.getActor(), spaces.get(random.nextInt(spaces.size())));
+            } else {
+                Harness.drag(stage, Harness.screenCenter(stage, filled.getActor()), offSpaces);
+            }
+            if (i % skipInterval == 0) {
+                Harness.click(stage, skip);
+            }
+            if (burstInterval > 0 && i % burstInterval == 0) {
+                screen.winConfetti("underline");
+            }
+            harness.frame();
+            maxParticles = Math.max(maxParticles, screen.getLiveParticleCount());
+            maxAnimationActors = Math.max(maxAnimationActors, animationsGroup.getChildren().size);
+
+            int sources = Harness.registeredSources(screen);
+            maxSources = Math.max(maxSources, sources);
+            if (sources != screen.getDragSourceCount()) {
+                mismatches++;
+            }
+            if (i % LOG_INTERVAL == 0) {
+                Harness.log(i + "\t" + sources + "\t" + screen.getDragSourceCount() + "\t"
+                        + screen.getLiveTargetCount() + "\t" + animationsGroup.getChildren().size + "\t"
+                        + screen.getLiveParticleCount() + "\t" + Harness.heapAfterGcMb());
+            }
+        }
+        Harness.log("Most sources held: " + maxSources + ", drags where the count did not match: " + mismatches);
+        Harness.log("Most actors in the animations group: " + maxAnimationActors + ", most pieces in flight: "
+                + maxParticles + " of a budget of " + Confetti.particleBudget);
+    }
+
+    private Container<Letter> randomFilled(ArrayList<Container<Letter>> spaces) {
+        int start = random.nextInt(spaces.size());
+        for (int i = 0; i < spaces.size(); i++) {
+            Container<Letter> space = spaces.get((start + i) % spaces.size());
+            if (space.getActor() != null) {
+                return space;
+            }
+        }
+        return null;
+    }
+}
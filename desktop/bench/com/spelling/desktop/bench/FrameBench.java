@@ -0,0 +1,108 @@
+package com.spelling.desktop.bench;
+
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.scenes.scene2d.Stage;
+import com.badlogic.gdx.scenes.scene2d.ui.Container;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.spelling.view.actors.Letter;
+import com.spelling.view.games.SpellingGameScreen;
+
+import java.util.ArrayList;
+
+/**
+ * Times the frames of the spelling game with a word on screen and every space filled: stage act and stage draw are
+ * timed apart over many frames, after a warm-up. Also logs the render calls of a frame and a checksum of where the
+ * keyboard letters are, which should not change when only the way letters are drawn changes.
+ * <p>
+ * The background, picture and keyboard are drawn from a cached layer, so it also logs how often that layer was drawn
+ * again: never during the timed frames, and once each for a touch down and a touch up on a key.
+ * <p>
+ * Arguments: frames (20000), languages (hmong,english).
+ */
+public class FrameBench implements Harness.Benchmark {
+    private static final int WARM_UP_FRAMES = 2000;
+
+    private final int frames;
+    private final String[] languages;
+
+    FrameBench(String[] args) {
+        frames = Harness.intArg(args, 0, 20000);
+        languages = Harness.stringArg(args, 1, "hmong,english").split(",");
+    }
+
+    public static void main(String[] args) {
+        Harness.start(new FrameBench(args));
+    }
+
+    @Override
+    public void run(Harness harness) {
+        for (String language : languages) {
+            SpellingGameScreen screen = harness.startGame(language);
+            Stage stage = Harness.stageOf(screen);
+            ArrayList<Letter> keys = Harness.keyboardLetters(stage);
+            fillSpaces(harness, screen, stage, keys);
+
+            for (int i = 0; i < WARM_UP_FRAMES; i++) {
+                frame(stage);
+            }
+            int redrawsBefore = screen.getBackgroundRedrawCount();
+            long actNanos = 0;
+            long drawNanos = 0;
+            for (int i = 0; i < frames; i++) {
+                long start = TimeUtils.nanoTime();
+                stage.act(Harness.DELTA);
+                long acted = TimeUtils.nanoTime();
+                stage.draw();
+                drawNanos += TimeUtils.nanoTime() - acted;
+                actNanos += acted - start;
+            }
+            Harness.log(language + " (" + keys.size() + " keys): act " + actNanos / 1000f / frames + " us, draw "
+                    + drawNanos / 1000f / frames + " us, render calls " + harness.getGame().batch.renderCalls
+                    + ", letter positions " + positionChecksum(keys));
+            Harness.log(language + ": layer redrawn " + (screen.getBackgroundRedrawCount() - redrawsBefore)
+                    + " times in " + frames + " frames, " + touchRedraws(stage, screen, keys.get(0)));
+        }
+    }
+
+    /**
+     * How many times a touch down and then a touch up on a key drew the cached layer again.
+     */
+    private String touchRedraws(Stage stage, SpellingGameScreen screen, Letter key) {
+        Vector2 center = Harness.screenCenter(stage, key);
+        int before = screen.getBackgroundRedrawCount();
+        stage.touchDown((int) center.x, (int) center.y, 0, Input.Buttons.LEFT);
+        frame(stage);
+        int down = screen.getBackgroundRedrawCount() - before;
+        stage.touchUp((int) center.x, (int) center.y, 0, Input.Buttons.LEFT);
+        frame(stage);
+        int up = screen.getBackgroundRedrawCount() - before - down;
+        return "touch down " + down + ", touch up " + up;
+    }
+
+    /**
+     * Puts the first keys of the keyboard in the spaces, one drag each, so the spaces draw letters too.
+     */
+    private void fillSpaces(Harness harness, SpellingGameScreen screen, Stage stage, ArrayList<Letter> keys) {
+        ArrayList<Container<Letter>> spaces = Harness.spaces(screen);
+        for (int i = 0; i < spaces.size(); i++) {
+            Harness.drag(stage, keys.get(i % keys.size()), spaces.get(i));
+            harness.frame();
+        }
+    }
+
+    private void frame(Stage stage) {
+        stage.act(Harness.DELTA);
+        stage.draw();
+    }
+
+    private long positionChecksum(ArrayList<Letter> keys) {
+        long checksum = 0;
+        for (Letter key : keys) {
+            Vector2 position = key.localToStageCoordinates(new Vector2());
+            checksum = checksum * 31 + Math.round(position.x * 10);
+            checksum = checksum * 31 + Math.round(position.y * 10);
+        }
+        return checksum;
+    }
+}
@@ -0,0 +1,369 @@
+package com.spelling.desktop.bench;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Graphics;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.Group;
+import com.badlogic.gdx.scenes.scene2d.Stage;
+import com.badlogic.gdx.scenes.scene2d.ui.Container;
+import com.badlogic.gdx.scenes.scene2d.ui.TextButton;
+import com.badlogic.gdx.scenes.scene2d.utils.DragAndDrop;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.spelling.model.DataManager;
+import com.spelling.model.Student;
+import com.spelling.model.Teacher;
+import com.spelling.view.GdxGame;
+import com.spelling.view.actors.CachedGroup;
+import com.spelling.view.actors.Letter;
+import com.spelling.view.games.SpellingGameScreen;
+import com.spelling.view.screens.LibGDXSplashScreen;
+import com.spelling.viewmodel.ScreenManager;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+
+/**
+ * Runs the whole game headless, with a GL that does nothing and a 1920x1080 screen, so benchmarks and soak runs can
+ * drive the real screens from a plain main. The game starts as usual, behind its splash screen, and the benchmark is
+ * run once the start screen is showing. Run one with {@code gradlew desktop:bench -Pharness=<class> -Pargs="..."}.
+ * <p>
+ * Times measured here are CPU time on the desktop JVM without a GPU; they are only good for comparing two versions of
+ * the code on the same machine.
+ * <p>
+ * A benchmark that checks something reports a mismatch with {@link #check(boolean, String)}; the run then exits with
+ * status 1 once the game has closed, as it does when the benchmark throws.
+ */
+public class Harness extends ApplicationAdapter {
+    public static final int WIDTH = 1920;
+    public static final int HEIGHT = 1080;
+    public static final float DELTA = 1 / 60f;
+
+    /**
+     * What a harness measures, run on the render thread once the game has started.
+     */
+    public interface Benchmark {
+        void run(Harness harness) throws Exception;
+    }
+
+    private static int failures;
+
+    private final Benchmark benchmark;
+    private GdxGame game;
+    private boolean ran;
+
+    private Harness(Benchmark benchmark) {
+        this.benchmark = benchmark;
+    }
+
+    public static void start(Benchmark benchmark) {
+        HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+        config.renderInterval = 0;
+        new HeadlessApplication(new Harness(benchmark), config);
+    }
+
+    @Override
+    public void create() {
+        Gdx.gl = Gdx.gl20 = mockGl();
+        Gdx.graphics = screen(Gdx.graphics, Gdx.gl20);
+        game = new GdxGame();
+        game.create();
+    }
+
+    @Override
+    public void render() {
+        if (ran) {
+            return;
+        }
+        if (game.getScreen() instanceof LibGDXSplashScreen) {
+            game.render(); // The startup stages still loading.
+            return;
+        }
+        ran = true;
+        try {
+            benchmark.run(this);
+        } catch (Exception e) {
+            e.printStackTrace();
+            failures++;
+        }
+        Gdx.app.exit();
+    }
+
+    @Override
+    public void pause() {
+        game.pause();
+    }
+
+    @Override
+    public void dispose() {
+        game.dispose();
+        if (failures > 0) {
+            log(failures + " checks failed");
+            System.exit(1);
+        }
+    }
+
+    public GdxGame getGame() {
+        return game;
+    }
+
+    /**
+     * Runs what was posted to the render thread and draws one frame of the current screen.
+     */
+    public void frame() {
+        ((HeadlessApplication) Gdx.app).executeRunnables();
+        game.render();
+    }
+
+    /**
+     * Selects the first student of the first teacher and shows a new spelling game in a language.
+     */
+    public SpellingGameScreen startGame(String languageId) {
+        Teacher teacher = DataManager.getTeachers().get(0);
+        Student student = teacher.getStudents().get(0);
+        ScreenManager.selectedTeacherId = teacher.getId();
+        ScreenManager.selectedStudentId = student.getId();
+        ScreenManager.selectedLanguage = DataManager.getLanguage(languageId);
+        if (ScreenManager.selectedLanguage == null) {
+            throw new IllegalArgumentException("No language " + languageId);
+        }
+        SpellingGameScreen screen = new SpellingGameScreen(game);
+        ScreenManager.setScreen(screen);
+        frame();
+        return screen;
+    }
+
+    public static Stage stageOf(Object screen) {
+        return (Stage) field(screen, "stage");
+    }
+
+    /**
+     * The letters of the keyboard, which is drawn in the cached background layer.
+     */
+    public static ArrayList<Letter> keyboardLetters(Stage stage) {
+        ArrayList<Letter> letters = new ArrayList<Letter>();
+        for (Actor actor : stage.getRoot().getChildren()) {
+            if (actor instanceof CachedGroup) {
+                findAll((Group) actor, Letter.class, letters);
+            }
+        }
+        return letters;
+    }
+
+    /**
+     * The spaces of the current word.
+     */
+    @SuppressWarnings("unchecked")
+    public static ArrayList<Container<Letter>> spaces(SpellingGameScreen screen) {
+        return (ArrayList<Container<Letter>>) field(screen, "letterSpaces");
+    }
+
+    /**
+     * The drag sources the screen's drag and drop really holds, whatever the screen thinks it registered.
+     */
+    public static int registeredSources(SpellingGameScreen screen) {
+        DragAndDrop dragAndDrop = (DragAndDrop) field(screen, "dragAndDrop");
+        return ((ObjectMap<?, ?>) field(dragAndDrop, "sourceListeners")).size;
+    }
+
+    /**
+     * The button showing some text, such as "Skip".
+     */
+    public static TextButton button(Stage stage, String text) {
+        ArrayList<TextButton> buttons = new ArrayList<TextButton>();
+        findAll(stage.getRoot(), TextButton.class, buttons);
+        for (TextButton button : buttons) {
+            if (text.contentEquals(button.getText())) {
+                return button;
+            }
+        }
+        throw new IllegalArgumentException("No button " + text);
+    }
+
+    /**
+     * Drags from the middle of one actor to the middle of another, as a finger would.
+     */
+    public static void drag(Stage stage, Actor from, Actor to) {
+        Vector2 start = screenCenter(stage, from);
+        Vector2 end = screenCenter(stage, to);
+        drag(stage, start, end);
+    }
+
+    /**
+     * Drags between two points in screen coordinates.
+     */
+    public static void drag(Stage stage, Vector2 start, Vector2 end) {
+        stage.touchDown((int) start.x, (int) start.y, 0, Input.Buttons.LEFT);
+        stage.touchDragged((int) end.x, (int) end.y, 0);
+        stage.touchUp((int) end.x, (int) end.y, 0, Input.Buttons.LEFT);
+    }
+
+    public static void click(Stage stage, Actor actor) {
+        Vector2 center = screenCenter(stage, actor);
+        stage.touchDown((int) center.x, (int) center.y, 0, Input.Buttons.LEFT);
+        stage.touchUp((int) center.x, (int) center.y, 0, Input.Buttons.LEFT);
+    }
+
+    public static Vector2 screenCenter(Stage stage, Actor actor) {
+        Vector2 center = actor.localToStageCoordinates(new Vector2(actor.getWidth() / 2, actor.getHeight() / 2));
+        return stage.stageToScreenCoordinates(center);
+    }
+
+    public static int countActors(Group group) {
+        int count = 1;
+        for (Actor child : group.getChildren()) {
+            count += child instanceof Group ? countActors((Group) child) : 1;
+        }
+        return count;
+    }
+
+    /**
+     * The heap in use once garbage collection has run, in MB.
+     */
+    public static float heapAfterGcMb() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return (runtime.totalMemory() - runtime.freeMemory()) / (1024f * 1024f);
+    }
+
+    public static int intArg(String[] args, int index, int defaultValue) {
+        return args.length > index ? Integer.parseInt(args[index]) : defaultValue;
+    }
+
+    public static String stringArg(String[] args, int index, String defaultValue) {
+        return args.length > index ? args[index] : defaultValue;
+    }
+
+    public static void log(String line) {
+        System.out.println(line);
+    }
+
+    /**
+     * Logs a check that did not hold and makes the run fail.
+     */
+    public static void check(boolean holds, String what) {
+        if (!holds) {
+            failures++;
+            System.err.println("FAILED: " + what);
+        }
+    }
+
+    /**
+     * Reads a field the benchmark has no other way to see, such as a screen's stage.
+     */
+    public static Object field(Object owner, String name) {
+        for (Class<?> type = owner.getClass(); type != null; type = type.getSuperclass()) {
+            try {
+                Field field = type.getDeclaredField(name);
+                field.setAccessible(true);
+                return field.get(owner);
+            } catch (NoSuchFieldException e) {
+                // Look in the superclass.
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        throw new IllegalArgumentException("No field " + name + " in " + owner.getClass().getName());
+    }
+
+    /**
+     * Adds every actor of a type under a group to a list, depth first.
+     */
+    public static <T> void findAll(Group group, Class<T> type, ArrayList<T> found) {
+        for (Actor child : group.getChildren()) {
+            if (type.isInstance(child)) {
+                found.add(type.cast(child));
+            }
+            if (child instanceof Group) {
+                findAll((Group) child, type, found);
+            }
+        }
+    }
+
+    /**
+     * A GL that does nothing. Handles are handed out in order, shaders always compile and frame buffers are always
+     * complete; everything else returns zero.
+     */
+    private static GL20 mockGl() {
+        return (GL20) Proxy.newProxyInstance(GL20.class.getClassLoader(), new Class<?>[]{GL20.class},
+                new InvocationHandler() {
+                    private int nextHandle = 1;
+
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) {
+                        String name = method.getName();
+                        if ((name.startsWith("glGen") || name.startsWith("glCreate")) && method.getReturnType() == int.class) {
+                            return nextHandle++;
+                        }
+                        if (name.equals("glCheckFramebufferStatus")) {
+                            return GL20.GL_FRAMEBUFFER_COMPLETE;
+                        }
+                        if (name.equals("glGetShaderiv") || name.equals("glGetProgramiv")) {
+                            int parameter = (Integer) args[1];
+                            boolean ok = parameter == GL20.GL_COMPILE_STATUS || parameter == GL20.GL_LINK_STATUS;
+                            IntBuffer result = (IntBuffer) args[2];
+                            result.put(result.position(), ok ? 1 : 0);
+                            return null;
+                        }
+                        if (name.equals("glGetIntegerv")) {
+                            int parameter = (Integer) args[0];
+                            IntBuffer result = (IntBuffer) args[1];
+                            result.put(result.position(), parameter == GL20.GL_MAX_TEXTURE_SIZE ? 4096 : 0);
+                            return null;
+                        }
+                        return zero(method.getReturnType());
+                    }
+                });
+    }
+
+    /**
+     * The backend's graphics with a fixed screen size and frame time, and the mock GL.
+     */
+    private static Graphics screen(final Graphics graphics, final GL20 gl) {
+        return (Graphics) Proxy.newProxyInstance(Graphics.class.getClassLoader(), new Class<?>[]{Graphics.class},
+                new InvocationHandler() {
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                        String name = method.getName();
+                        if (name.equals("getWidth") || name.equals("getBackBufferWidth")) {
+                            return WIDTH;
+                        }
+                        if (name.equals("getHeight") || name.equals("getBackBufferHeight")) {
+                            return HEIGHT;
+                        }
+                        if (name.equals("getDeltaTime") || name.equals("getRawDeltaTime")) {
+                            return DELTA;
+                        }
+                        if (name.equals("getGL20")) {
+                            return gl;
+                        }
+                        try {
+                            return method.invoke(graphics, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    }
+                });
+    }
+
+    private static Object zero(Class<?> type) {
+        if (type == int.class) return 0;
+        if (type == boolean.class) return false;
+        if (type == float.class) return 0f;
+        if (type == long.class) return 0L;
+        if (type == String.class) return "";
+        return null;
+    }
+}
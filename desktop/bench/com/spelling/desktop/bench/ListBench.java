@@ -0,0 +1,209 @@
+package com.spelling.desktop.bench;
+
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.Stage;
+import com.badlogic.gdx.scenes.scene2d.ui.ScrollPane;
+import com.badlogic.gdx.scenes.scene2d.ui.Table;
+import com.badlogic.gdx.scenes.scene2d.ui.TextButton;
+import com.badlogic.gdx.scenes.scene2d.utils.ChangeListener;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.spelling.model.DataManager;
+import com.spelling.model.History;
+import com.spelling.model.Student;
+import com.spelling.model.Teacher;
+import com.spelling.viewmodel.ScreenManager;
+
+import java.util.ArrayList;
+
+/**
+ * Times the student and history lists with many items: opening each list, a frame while scrolling, and adding and
+ * deleting a student. Each open, add and delete is timed with the frame that shows it. Also logs the actors on the
+ * stage and checks that every visible row shows the student it is bound to.
+ * <p>
+ * The benchmark teacher and its students are added to the saved data and removed again at the end.
+ * <p>
+ * Arguments: students (2000), histories of the first student (2000), repeats (20).
+ */
+public class ListBench implements Harness.Benchmark {
+    private static final int WARM_UP_REPEATS = 5;
+    private static final int SCROLL_FRAMES = 600;
+
+    private final int studentCount;
+    private final int historyCount;
+    private final int repeats;
+    private final ChangeListener nothing = new ChangeListener() {
+        @Override
+        public void changed(ChangeEvent event, Actor actor) {
+        }
+    };
+
+    ListBench(String[] args) {
+        studentCount = Harness.intArg(args, 0, 2000);
+        historyCount = Harness.intArg(args, 1, 2000);
+        repeats = Harness.intArg(args, 2, 20);
+    }
+
+    public static void main(String[] args) {
+        Harness.start(new ListBench(args));
+    }
+
+    @Override
+    public void run(Harness harness) {
+        Teacher teacher = new Teacher("Bench teacher " + TimeUtils.millis());
+        DataManager.addTeacher(teacher);
+        for (int i = 0; i < studentCount; i++) {
+            DataManager.addStudent(teacher.getId(), new Student(String.format("Student %05d", i)));
+        }
+        Student student = teacher.getStudents().get(0);
+        for (int i = 0; i < historyCount; i++) {
+            student.startNewCurrentHistory(new History("Spelling Game"));
+            student.addToCurrentHistory("word" + i);
+        }
+        ScreenManager.selectedTeacherId = teacher.getId();
+        ScreenManager.selectedStudentId = student.getId();
+
+        Stage stage = new Stage(harness.getGame().viewport, harness.getGame().batch);
+        try {
+            timeOpen(stage, ScreenManager.ScreenType.STUDENTS);
+            timeOpen(stage, ScreenManager.ScreenType.HISTORIES);
+            timeScroll(stage, ScreenManager.ScreenType.STUDENTS);
+            timeAddAndDelete(stage);
+        } finally {
+            stage.dispose();
+            DataManager.removeTeacher(teacher.getId());
+        }
+    }
+
+    private Table open(Stage stage, ScreenManager.ScreenType type) {
+        String addText = type == ScreenManager.ScreenType.STUDENTS ? "Student name" : null;
+        Table table = ScreenManager.screenFactory(type, "List bench", nothing, nothing, addText, nothing);
+        stage.clear();
+        stage.addActor(table);
+        frame(stage);
+        return table;
+    }
+
+    private void timeOpen(Stage stage, ScreenManager.ScreenType type) {
+        Range millis = new Range();
+        for (int i = 0; i < WARM_UP_REPEATS + repeats; i++) {
+            long start = TimeUtils.nanoTime();
+            open(stage, type);
+            if (i >= WARM_UP_REPEATS) {
+                millis.add((TimeUtils.nanoTime() - start) / 1000000f);
+            }
+        }
+        Harness.log("Open " + type + ": " + millis + " ms, " + Harness.countActors(stage.getRoot()) + " actors, "
+                + Harness.heapAfterGcMb() + " MB heap after GC");
+    }
+
+    private void timeScroll(Stage stage, ScreenManager.ScreenType type) {
+        open(stage, type);
+        ArrayList<ScrollPane> panes = new ArrayList<ScrollPane>();
+        Harness.findAll(stage.getRoot(), ScrollPane.class, panes);
+        ScrollPane pane = panes.get(0);
+        long nanos = 0;
+        int wrongRows = 0;
+        for (int i = 0; i < SCROLL_FRAMES; i++) {
+            long start = TimeUtils.nanoTime();
+            pane.setScrollY(pane.getMaxY() * (i % 100) / 100f);
+            pane.updateVisualScroll();
+            frame(stage);
+            nanos += TimeUtils.nanoTime() - start;
+            wrongRows += wrongRows(stage);
+        }
+        Harness.log("Scroll frame: " + nanos / 1000f / SCROLL_FRAMES + " us, rows showing the wrong student: "
+                + wrongRows);
+    }
+
+    private void timeAddAndDelete(Stage stage) {
+        open(stage, ScreenManager.ScreenType.STUDENTS);
+        TextButton add = Harness.button(stage, "Add");
+        Range addMillis = new Range();
+        Range deleteMillis = new Range();
+        int wrongRows = 0;
+        for (int i = 0; i < WARM_UP_REPEATS + repeats; i++) {
+            long start = TimeUtils.nanoTime();
+            add.fire(new ChangeListener.ChangeEvent());
+            frame(stage);
+            long added = TimeUtils.nanoTime();
+            wrongRows += wrongRows(stage);
+
+            long deleteStart = TimeUtils.nanoTime();
+            firstShown(stage, "Delete").fire(new ChangeListener.ChangeEvent());
+            frame(stage);
+            long deleted = TimeUtils.nanoTime();
+            wrongRows += wrongRows(stage);
+            if (i >= WARM_UP_REPEATS) {
+                addMillis.add((added - start) / 1000000f);
+                deleteMillis.add((deleted - deleteStart) / 1000000f);
+            }
+        }
+        Harness.log("Add: " + addMillis + " ms, delete: " + deleteMillis + " ms, rows showing the wrong student: "
+                + wrongRows);
+    }
+
+    /**
+     * Visible name buttons whose text is not the name of the student whose ID they carry.
+     */
+    private int wrongRows(Stage stage) {
+        ArrayList<TextButton> buttons = new ArrayList<TextButton>();
+        Harness.findAll(stage.getRoot(), TextButton.class, buttons);
+        int wrong = 0;
+        for (TextButton button : buttons) {
+            if (!isShown(button) || button.getName() == null || "Delete".contentEquals(button.getText())) {
+                continue;
+            }
+            Student student = DataManager.getStudent(Long.parseLong(button.getName()));
+            if (student == null || !student.getName().contentEquals(button.getText())) {
+                wrong++;
+            }
+        }
+        return wrong;
+    }
+
+    /**
+     * The first button with some text in a row that is showing, rather than one kept for rows scrolling in.
+     */
+    private TextButton firstShown(Stage stage, String text) {
+        ArrayList<TextButton> buttons = new ArrayList<TextButton>();
+        Harness.findAll(stage.getRoot(), TextButton.class, buttons);
+        for (TextButton button : buttons) {
+            if (isShown(button) && text.contentEquals(button.getText())) {
+                return button;
+            }
+        }
+        throw new IllegalStateException("No " + text + " button showing");
+    }
+
+    private boolean isShown(Actor actor) {
+        for (Actor shown = actor; shown != null; shown = shown.getParent()) {
+            if (!shown.isVisible()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void frame(Stage stage) {
+        stage.act(Harness.DELTA);
+        stage.draw();
+    }
+
+    /**
+     * The lowest and highest of some timings.
+     */
+    private static class Range {
+        float min = Float.MAX_VALUE;
+        float max;
+
+        void add(float value) {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+
+        @Override
+        public String toString() {
+            return min + "-" + max;
+        }
+    }
+}
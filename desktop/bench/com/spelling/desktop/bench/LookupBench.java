@@ -0,0 +1,71 @@
+package com.spelling.desktop.bench;
+
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.spelling.view.AssetManager;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+
+/**
+ * Counts the bytes allocated by repeat lookups of atlas regions and drawables, which should be none: every region
+ * and drawable is made once when the atlas loads. A name missing from the atlas is looked up too, since it is drawn
+ * with the shared placeholder. Bytes are read from the JVM's per-thread allocation counter around each run, after a
+ * warm-up so the JIT has compiled the lookups; the counter's own cost is measured with an empty run and logged.
+ * <p>
+ * Arguments: rounds over every name (10000).
+ */
+public class LookupBench implements Harness.Benchmark {
+    private static final int WARM_UP_ROUNDS = 2000;
+    private static final String MISSING_NAME = "NoSuchRegion";
+
+    private final int rounds;
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    // Keeps the JIT from dropping lookups whose result is not used.
+    private int sink;
+
+    LookupBench(String[] args) {
+        rounds = Harness.intArg(args, 0, 10000);
+    }
+
+    public static void main(String[] args) {
+        Harness.start(new LookupBench(args));
+    }
+
+    @Override
+    public void run(Harness harness) {
+        ArrayList<String> names = new ArrayList<String>();
+        for (TextureAtlas.AtlasRegion region : AssetManager.atlas.getRegions()) {
+            names.add(region.name);
+        }
+        names.add(MISSING_NAME);
+        String[] lookups = names.toArray(new String[names.size()]);
+
+        lookUp(lookups, WARM_UP_ROUNDS);
+        long baseline = allocated(lookups, 0);
+        long bytes = allocated(lookups, rounds);
+        long lookupCount = (long) rounds * lookups.length;
+        Harness.log(lookups.length + " names, " + lookupCount + " lookups each of regions and drawables: "
+                + (bytes - baseline) + " bytes allocated (counter overhead " + baseline + " bytes), "
+                + AssetManager.getMissingLookups() + " missing lookups");
+    }
+
+    /**
+     * Bytes this thread allocated while looking up every name the given number of rounds.
+     */
+    private long allocated(String[] lookups, int rounds) {
+        long thread = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(thread);
+        lookUp(lookups, rounds);
+        return threads.getThreadAllocatedBytes(thread) - before;
+    }
+
+    private void lookUp(String[] lookups, int rounds) {
+        for (int round = 0; round < rounds; round++) {
+            for (String name : lookups) {
+                sink += System.identityHashCode(AssetManager.getTextureRegion(name));
+                sink += System.identityHashCode(AssetManager.getDrawable(name));
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.spelling.desktop.bench;
+
+import com.badlogic.gdx.utils.TimeUtils;
+import com.spelling.view.actors.Letter;
+import com.spelling.view.games.SpellingGameScreen;
+
+import java.util.ArrayList;
+
+/**
+ * Times opening the spelling game again and again, each language in turn. The first open of a language builds its
+ * keyboard and later opens move the kept keyboard over, so the first open is logged apart from the others. Each open
+ * is timed with the frame that shows it.
+ * <p>
+ * After every open it also counts the listeners on each key. A keyboard that is moved to a new screen should carry
+ * the same listeners each time rather than gain another drag source per open.
+ * <p>
+ * Arguments: opens per language (200), languages (hmong,english).
+ */
+public class ScreenOpenBench implements Harness.Benchmark {
+    private final int opens;
+    private final String[] languages;
+
+    ScreenOpenBench(String[] args) {
+        opens = Harness.intArg(args, 0, 200);
+        languages = Harness.stringArg(args, 1, "hmong,english").split(",");
+    }
+
+    public static void main(String[] args) {
+        Harness.start(new ScreenOpenBench(args));
+    }
+
+    @Override
+    public void run(Harness harness) {
+        for (String language : languages) {
+            long start = TimeUtils.nanoTime();
+            SpellingGameScreen screen = harness.startGame(language);
+            float firstMillis = (TimeUtils.nanoTime() - start) / 1000000f;
+            int firstListeners = maxListeners(screen);
+
+            long laterNanos = 0;
+            int fewestListeners = Integer.MAX_VALUE;
+            int mostListeners = 0;
+            for (int i = 1; i < opens; i++) {
+                start = TimeUtils.nanoTime();
+                screen = harness.startGame(language);
+                laterNanos += TimeUtils.nanoTime() - start;
+                int listeners = maxListeners(screen);
+                fewestListeners = Math.min(fewestListeners, listeners);
+                mostListeners = Math.max(mostListeners, listeners);
+            }
+            Harness.log(language + ": first open " + firstMillis + " ms, " + firstListeners + " listeners per key");
+            if (opens > 1) {
+                Harness.log(language + ": later opens " + laterNanos / 1000000f / (opens - 1) + " ms each, "
+                        + fewestListeners + "-" + mostListeners + " listeners per key, "
+                        + Harness.heapAfterGcMb() + " MB heap after GC");
+            }
+        }
+    }
+
+    /**
+     * The most listeners any key of the screen's keyboard has.
+     */
+    private int maxListeners(SpellingGameScreen screen) {
+        ArrayList<Letter> keys = Harness.keyboardLetters(Harness.stageOf(screen));
+        int most = 0;
+        for (Letter key : keys) {
+            most = Math.max(most, key.getListeners().size);
+        }
+        return most;
+    }
+}
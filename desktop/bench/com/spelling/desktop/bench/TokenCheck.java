@@ -0,0 +1,69 @@
+package com.spelling.desktop.bench;
+
+import com.spelling.model.DataManager;
+import com.spelling.viewmodel.Alphabet;
+import com.spelling.viewmodel.SpellingBuffer;
+
+import java.util.Arrays;
+
+/**
+ * Checks how Hmong spellings are split into letter tokens where the text alone is ambiguous, and fails the run on a
+ * mismatch: "ntses" is nts|e|s as a tone, the consonant "s" in the tone space is not the tone "muS", "n" is not
+ * "nts", and the space in "mos lwj" stays empty. Run it after changing the tokenizer or the Hmong letters.
+ */
+public class TokenCheck implements Harness.Benchmark {
+    private Alphabet alphabet;
+
+    public static void main(String[] args) {
+        Harness.start(new TokenCheck());
+    }
+
+    @Override
+    public void run(Harness harness) {
+        alphabet = Alphabet.get(DataManager.getLanguage("hmong"));
+        int n = letter("n");
+        int nts = letter("nts");
+        int e = letter("e");
+        int s = letter("s");
+        int muS = letter("muS");
+        Harness.check(n != nts, "n and nts have different tokens");
+        Harness.check(s != muS, "the consonant s and the tone muS have different tokens");
+
+        int[] ntses = alphabet.getTokens("ntses");
+        Harness.check(Arrays.equals(ntses, new int[]{nts, e, muS}),
+                "ntses splits into nts|e|muS, not " + Arrays.toString(ntses));
+        int[] mosLwj = alphabet.getTokens("mos lwj");
+        Harness.check(Arrays.equals(mosLwj, new int[]{letter("m"), letter("o"), muS, Alphabet.EMPTY, letter("l"),
+                letter("w"), letter("koJ")}), "mos lwj splits into m|o|muS| |l|w|koJ, not " + Arrays.toString(mosLwj));
+
+        SpellingBuffer buffer = new SpellingBuffer(alphabet);
+        buffer.reset(ntses);
+        buffer.set(0, nts);
+        buffer.set(1, e);
+        buffer.set(2, s);
+        Harness.check(buffer.isFull() && !buffer.isCorrect(), "the consonant s in the tone space is not ntses");
+        buffer.set(2, muS);
+        Harness.check(buffer.isCorrect(), "nts, e and muS spell ntses");
+        buffer.set(0, n);
+        Harness.check(!buffer.isCorrect(), "n in the first space is not ntses");
+        buffer.clear(0);
+        Harness.check(!buffer.isFull() && !buffer.isCorrect(), "ntses with the first space empty is not correct");
+
+        buffer.reset(mosLwj);
+        for (int i = 0; i < mosLwj.length; i++) {
+            if (mosLwj[i] != Alphabet.EMPTY) {
+                buffer.set(i, mosLwj[i]);
+            }
+        }
+        Harness.check(buffer.isCorrect(), "mos lwj is correct with its space left empty");
+        buffer.set(3, s);
+        Harness.check(!buffer.isCorrect(), "mos lwj is not correct with a letter in its space");
+        Harness.log("Token checks done");
+    }
+
+    private int letter(String name) {
+        int token = alphabet.getToken(name);
+        Harness.check(token != Alphabet.UNKNOWN, name + " is a Hmong letter");
+        return token;
+    }
+}